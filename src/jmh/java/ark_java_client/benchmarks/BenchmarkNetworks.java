@@ -0,0 +1,28 @@
+package ark_java_client.benchmarks;
+
+import ark_java_client.ArkNetwork;
+import ark_java_client.ArkNetworkPeerSettings;
+
+import java.util.Collections;
+
+class BenchmarkNetworks {
+
+    static final String PASSPHRASE = "liar secret already much glow student crystal paddle ahead vapor shine ocean";
+    static final String RECIPIENT = "AewU1vEmPrtQNjdVo33cX84bfovY3jNAkV";
+
+    static ArkNetwork mainnet(String networkVersion) {
+        ArkNetworkPeerSettings peerSettings = new ArkNetworkPeerSettings();
+        peerSettings.setHostname("127.0.0.1");
+        peerSettings.setPort(4003);
+        return new ArkNetwork(
+            networkVersion,
+            "http",
+            Collections.singletonList(peerSettings),
+            "6e84d08bd299ed97c212c886c98a57e36545c8f5d645ca7eeae63a8bd62d8988",
+            0x17,
+            "2017-03-21 13:00:00",
+            "1.6.1"
+        );
+    }
+
+}
@@ -0,0 +1,59 @@
+package ark_java_client.benchmarks;
+
+import ark_java_client.ArkClient;
+import ark_java_client.ArkNetwork;
+import ark_java_client.BroadcastExecutor;
+import ark_java_client.HttpArkClientFactory;
+import ark_java_client.SigningIdentity;
+import ark_java_client.loadtest.FakeArkCluster;
+import ark_java_client.loadtest.FakeArkNodeSettings;
+import ark_java_client.loadtest.FakeLedger;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcast of a single V2 transaction, signing included, to an in-process {@link FakeArkCluster}
+ * that accepts every transaction. Measures the client's own cost of fanning out, without network latency.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BroadcastBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int peerCount;
+
+    private FakeArkCluster cluster;
+    private BroadcastExecutor broadcastExecutor;
+    private ArkClient arkClient;
+    private SigningIdentity signingIdentity;
+
+    @Setup
+    public void setUp() throws IOException {
+        cluster = new FakeArkCluster(peerCount, new FakeLedger(10, 1, 42), new FakeArkNodeSettings(), 0);
+
+        ArkNetwork arkNetwork = cluster.createArkNetwork("2");
+        arkNetwork.getHttpSettings().setMaxConnectionsPerPeer(16);
+        broadcastExecutor = new BroadcastExecutor(arkNetwork.getBroadcastSettings());
+        arkClient = new HttpArkClientFactory().create(arkNetwork, broadcastExecutor);
+        signingIdentity = arkClient.createSigningIdentity(BenchmarkNetworks.PASSPHRASE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arkClient.close();
+        broadcastExecutor.close();
+        cluster.close();
+    }
+
+    @Benchmark
+    public String broadcastTransaction() {
+        return arkClient.broadcastTransaction(BenchmarkNetworks.RECIPIENT, 100000000L, "benchmark", signingIdentity, peerCount);
+    }
+
+}
@@ -0,0 +1,87 @@
+package ark_java_client.benchmarks;
+
+import ark_java_client.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and address derivation for both network versions. V1 signing covers serializing the
+ * transaction bytes and the ECDSA signature, V2 signing covers the crypto library's
+ * {@code Transfer.sign} and {@code toJson}. {@link #v1SignBaseline()} is the V1 signing path before
+ * the serializer and cached keys, deriving the keys from the passphrase on every signature.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SigningBenchmark {
+
+    private ArkV1TransactionSigner v1Signer;
+    private ArkV2TransactionSigner v2Signer;
+    private SigningIdentity v1SigningIdentity;
+    private SigningIdentity v2SigningIdentity;
+    private ArkClient v1Client;
+    private ArkClient v2Client;
+    private long v1Timestamp;
+
+    @Setup
+    public void setUp() {
+        ArkNetwork v1Network = BenchmarkNetworks.mainnet("1");
+        ArkNetwork v2Network = BenchmarkNetworks.mainnet("2");
+        v1Signer = new ArkV1TransactionSigner(v1Network);
+        v2Signer = new ArkV2TransactionSigner(v2Network);
+        v1SigningIdentity = v1Signer.createSigningIdentity(BenchmarkNetworks.PASSPHRASE);
+        v2SigningIdentity = v2Signer.createSigningIdentity(BenchmarkNetworks.PASSPHRASE);
+        v1Timestamp = new ArkV1TransactionSerializer(v1Network).getTimestamp();
+
+        HttpArkClientFactory httpArkClientFactory = new HttpArkClientFactory();
+        v1Client = httpArkClientFactory.create(v1Network);
+        v2Client = httpArkClientFactory.create(v2Network);
+    }
+
+    @TearDown
+    public void tearDown() {
+        v1Client.close();
+        v2Client.close();
+    }
+
+    @Benchmark
+    public CreateArkTransactionRequest v1Sign() {
+        return v1Signer.sign(BenchmarkNetworks.RECIPIENT, 100000000L, "benchmark", v1SigningIdentity);
+    }
+
+    @Benchmark
+    public CreateArkTransactionRequest v1SignBaseline() {
+        return LegacyArkV1Transactions.sign(BenchmarkNetworks.RECIPIENT, 100000000L, "benchmark",
+            BenchmarkNetworks.PASSPHRASE, v1Timestamp);
+    }
+
+    @Benchmark
+    public ArkV2SignedTransaction v2Sign() {
+        return v2Signer.sign(BenchmarkNetworks.RECIPIENT, 100000000L, "benchmark", v2SigningIdentity);
+    }
+
+    @Benchmark
+    public String v1DeriveAddress() {
+        return v1Signer.createSigningIdentity(BenchmarkNetworks.PASSPHRASE).getAddress();
+    }
+
+    @Benchmark
+    public String v2DeriveAddress() {
+        return v2Signer.createSigningIdentity(BenchmarkNetworks.PASSPHRASE).getAddress();
+    }
+
+    @Benchmark
+    public String v1GetAddress() {
+        return v1Client.getAddress(BenchmarkNetworks.PASSPHRASE);
+    }
+
+    @Benchmark
+    public String v2GetAddress() {
+        return v2Client.getAddress(BenchmarkNetworks.PASSPHRASE);
+    }
+
+}
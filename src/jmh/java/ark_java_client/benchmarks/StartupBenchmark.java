@@ -0,0 +1,39 @@
+package ark_java_client.benchmarks;
+
+import ark_java_client.ArkClient;
+import ark_java_client.ArkNetwork;
+import ark_java_client.ArkNetworkFactory;
+import ark_java_client.HttpArkClientFactory;
+import ark_java_client.HttpTransportFactory;
+import ark_java_client.JdkHttpTransportFactory;
+import ark_java_client.PoolingHttpTransportFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of a client in a fresh JVM per fork: loading the network config from yml and creating
+ * the client, class loading included. Run with {@code -prof cl} for classes loaded and {@code -prof gc}
+ * for the memory allocated along the way.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"pooling", "jdk"})
+    private String transport;
+
+    @Benchmark
+    public ArkClient createClient() {
+        ArkNetwork arkNetwork = new ArkNetworkFactory().createFromYml("mainnet.yml");
+        HttpTransportFactory httpTransportFactory = transport.equals("jdk")
+            ? new JdkHttpTransportFactory()
+            : new PoolingHttpTransportFactory();
+        return new HttpArkClientFactory(httpTransportFactory).create(arkNetwork);
+    }
+
+}
@@ -0,0 +1,125 @@
+package ark_java_client.benchmarks;
+
+import ark_java_client.Transaction;
+import ark_java_client.TransactionsResponse;
+import ark_java_client.TransactionsResponseExtractor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of transaction listing pages, both into a {@link TransactionsResponse} the way the
+ * listing calls do and streamed through {@link TransactionsResponseExtractor}. Pages are generated
+ * from a fixed seed so every run decodes the same bytes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TransactionsDecodingBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private byte[] page;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        Random random = new Random(42);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId(randomHex(random, 32));
+            transaction.setBlockId(randomHex(random, 32));
+            transaction.setHeight(5000000 - i);
+            transaction.setType(0);
+            transaction.setTimestamp(60000000 - i * 8);
+            transaction.setSenderPublicKey(randomHex(random, 33));
+            transaction.setSenderId("AJWRd23HNEhPLkK1ymMnwnDBX2a7QBZqff");
+            transaction.setRecipientId(BenchmarkNetworks.RECIPIENT);
+            transaction.setAmount((long) random.nextInt(Integer.MAX_VALUE));
+            transaction.setFee(10000000L);
+            transaction.setSignature(randomHex(random, 71));
+            transaction.setConfirmations(i + 1);
+            transaction.setVendorField("benchmark " + i);
+            transactions.add(transaction);
+        }
+        TransactionsResponse transactionsResponse = new TransactionsResponse();
+        transactionsResponse.setSuccess(true);
+        transactionsResponse.setTransactions(transactions);
+        page = objectMapper.writeValueAsBytes(transactionsResponse);
+    }
+
+    @Benchmark
+    public TransactionsResponse decodePage() throws IOException {
+        return objectMapper.readValue(page, TransactionsResponse.class);
+    }
+
+    @Benchmark
+    public int streamPage(Blackhole blackhole) throws IOException {
+        return new TransactionsResponseExtractor(blackhole::consume).extractData(new PageResponse(page));
+    }
+
+    private static String randomHex(Random random, int length) {
+        StringBuilder hex = new StringBuilder(length * 2);
+        for (int i = 0; i < length; i++) {
+            hex.append(String.format("%02x", random.nextInt(256)));
+        }
+        return hex.toString();
+    }
+
+    private static class PageResponse implements ClientHttpResponse {
+        private final byte[] body;
+
+        private PageResponse(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
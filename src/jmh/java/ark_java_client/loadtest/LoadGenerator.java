@@ -0,0 +1,252 @@
+package ark_java_client.loadtest;
+
+import ark_java_client.*;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a mix of reads and broadcasts through an {@link ArkClient} against a {@link FakeArkCluster}
+ * from a number of threads, and reports throughput and latency percentiles per operation.
+ *
+ * Options are given as {@code key=value} arguments, see {@link #DEFAULTS}.
+ */
+public class LoadGenerator {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("version", "2");
+        DEFAULTS.put("nodes", "4");
+        DEFAULTS.put("threads", "32");
+        DEFAULTS.put("warmup", "5");
+        DEFAULTS.put("duration", "30");
+        DEFAULTS.put("readRatio", "0.9");
+        DEFAULTS.put("broadcastNodes", "4");
+        DEFAULTS.put("addresses", "1000");
+        DEFAULTS.put("history", "20");
+        DEFAULTS.put("blockInterval", "8000");
+        DEFAULTS.put("latency", "5");
+        DEFAULTS.put("latencyJitter", "5");
+        DEFAULTS.put("errorRate", "0");
+        DEFAULTS.put("rejectRate", "0");
+        DEFAULTS.put("nodeThreads", "32");
+        DEFAULTS.put("capacity", "0");
+        DEFAULTS.put("concurrencyLimit", "true");
+    }
+
+    private static final String PASSPHRASE = "liar secret already much glow student crystal paddle ahead vapor shine ocean";
+
+    private enum Operation {
+        GET_TRANSACTION,
+        GET_BALANCE,
+        LIST_TRANSACTIONS,
+        BROADCAST
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0 || !DEFAULTS.containsKey(arg.substring(0, separator))) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", options are " + DEFAULTS);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        System.out.println("Load test with " + options);
+
+        FakeArkNodeSettings nodeSettings = new FakeArkNodeSettings();
+        nodeSettings.setLatency(Long.parseLong(options.get("latency")));
+        nodeSettings.setLatencyJitter(Long.parseLong(options.get("latencyJitter")));
+        nodeSettings.setErrorRate(Double.parseDouble(options.get("errorRate")));
+        nodeSettings.setRejectRate(Double.parseDouble(options.get("rejectRate")));
+        nodeSettings.setThreads(Integer.parseInt(options.get("nodeThreads")));
+        nodeSettings.setCapacity(Integer.parseInt(options.get("capacity")));
+        FakeLedger ledger = new FakeLedger(Integer.parseInt(options.get("addresses")), Integer.parseInt(options.get("history")), 42);
+
+        try (FakeArkCluster cluster = new FakeArkCluster(Integer.parseInt(options.get("nodes")), ledger, nodeSettings,
+                Long.parseLong(options.get("blockInterval")))) {
+            ArkNetwork arkNetwork = cluster.createArkNetwork(options.get("version"));
+            arkNetwork.getHttpSettings().setMaxConnectionsTotal(Integer.parseInt(options.get("threads")) * 4);
+            arkNetwork.getHttpSettings().setMaxConnectionsPerPeer(Integer.parseInt(options.get("threads")));
+            arkNetwork.getConcurrencyLimitSettings().setEnabled(Boolean.parseBoolean(options.get("concurrencyLimit")));
+            BroadcastExecutor broadcastExecutor = new BroadcastExecutor(arkNetwork.getBroadcastSettings());
+            ArkClient arkClient = new HttpArkClientFactory().create(arkNetwork, broadcastExecutor);
+
+            List<Worker> workers = run(arkClient, ledger, options);
+            arkClient.close();
+            broadcastExecutor.close();
+            report(workers, Long.parseLong(options.get("duration")));
+            System.out.println("requests rate limited by nodes: "
+                + cluster.getNodes().stream().mapToLong(FakeArkNode::getRateLimitedCount).sum());
+        }
+        System.exit(0);
+    }
+
+    private static List<Worker> run(ArkClient arkClient, FakeLedger ledger, Map<String, String> options) throws InterruptedException {
+        SigningIdentity signingIdentity = arkClient.createSigningIdentity(PASSPHRASE);
+        List<String> transactionIds = ledger.getTransactionIds(10000, new Random(42));
+        long now = System.nanoTime();
+        long measureFrom = now + TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("warmup")));
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("duration")));
+
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < Integer.parseInt(options.get("threads")); i++) {
+            Worker worker = new Worker(arkClient, ledger.getAddresses(), transactionIds, signingIdentity,
+                Double.parseDouble(options.get("readRatio")), Integer.parseInt(options.get("broadcastNodes")),
+                measureFrom, measureUntil);
+            Thread thread = new Thread(worker, "load-generator-" + i);
+            thread.start();
+            workers.add(worker);
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return workers;
+    }
+
+    private static void report(List<Worker> workers, long durationSeconds) {
+        System.out.println();
+        System.out.println(String.format("%-18s %10s %8s %9s %9s %9s %9s %9s",
+            "operation", "ops/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder merged = new LatencyRecorder();
+            long errors = 0;
+            for (Worker worker : workers) {
+                merged.addAll(worker.latencies.get(operation));
+                errors += worker.errors.get(operation);
+            }
+            long[] latencies = merged.sorted();
+            if (latencies.length == 0 && errors == 0) {
+                continue;
+            }
+            System.out.println(String.format("%-18s %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                operation.name().toLowerCase(),
+                (double) latencies.length / durationSeconds,
+                errors,
+                percentile(latencies, 0.5),
+                percentile(latencies, 0.9),
+                percentile(latencies, 0.99),
+                percentile(latencies, 0.999),
+                percentile(latencies, 1)));
+        }
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1);
+        return sortedLatencies[Math.max(0, index)] / 1e6;
+    }
+
+    private static class Worker implements Runnable {
+        private final ArkClient arkClient;
+        private final List<String> addresses;
+        private final List<String> transactionIds;
+        private final SigningIdentity signingIdentity;
+        private final double readRatio;
+        private final int broadcastNodes;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<Operation, LatencyRecorder> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        private Worker(ArkClient arkClient, List<String> addresses, List<String> transactionIds, SigningIdentity signingIdentity,
+                       double readRatio, int broadcastNodes, long measureFrom, long measureUntil) {
+            this.arkClient = arkClient;
+            this.addresses = addresses;
+            this.transactionIds = transactionIds;
+            this.signingIdentity = signingIdentity;
+            this.readRatio = readRatio;
+            this.broadcastNodes = broadcastNodes;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new LatencyRecorder());
+                errors.put(operation, 0L);
+            }
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long start;
+            while ((start = System.nanoTime()) < measureUntil) {
+                Operation operation = pickOperation(random);
+                boolean failed = false;
+                try {
+                    execute(operation, random);
+                } catch (Exception e) {
+                    failed = true;
+                }
+                long end = System.nanoTime();
+                if (start >= measureFrom && end <= measureUntil) {
+                    if (failed) {
+                        errors.merge(operation, 1L, Long::sum);
+                    } else {
+                        latencies.get(operation).add(end - start);
+                    }
+                }
+            }
+        }
+
+        private Operation pickOperation(ThreadLocalRandom random) {
+            if (random.nextDouble() >= readRatio) {
+                return Operation.BROADCAST;
+            }
+            double read = random.nextDouble();
+            if (read < 0.4) {
+                return Operation.GET_TRANSACTION;
+            }
+            return read < 0.8 ? Operation.GET_BALANCE : Operation.LIST_TRANSACTIONS;
+        }
+
+        private void execute(Operation operation, ThreadLocalRandom random) {
+            String address = addresses.get(random.nextInt(addresses.size()));
+            switch (operation) {
+                case GET_TRANSACTION:
+                    arkClient.getTransaction(transactionIds.get(random.nextInt(transactionIds.size())));
+                    break;
+                case GET_BALANCE:
+                    arkClient.getBalance(address);
+                    break;
+                case LIST_TRANSACTIONS:
+                    arkClient.getTransactionByRecipientAddress(address, 50, 0);
+                    break;
+                case BROADCAST:
+                    arkClient.broadcastTransaction(address, 1L + random.nextInt(100000000), "load test",
+                        signingIdentity, broadcastNodes);
+                    break;
+            }
+        }
+    }
+
+    private static class LatencyRecorder {
+        private long[] latencies = new long[1024];
+        private int size = 0;
+
+        private void add(long latency) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latency;
+        }
+
+        private void addAll(LatencyRecorder other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i]);
+            }
+        }
+
+        private long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+}
@@ -1,12 +1,130 @@
 package ark_java_client;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-public interface ArkClient {
+public interface ArkClient extends AutoCloseable {
     List<Transaction> getTransactions(Integer limit, Integer offset);
     List<Transaction> getTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset);
     Transaction getTransaction(String arkTransactionId);
     String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes);
     AccountBalance getBalance(String address);
     String getAddress(String passphrase);
+
+    default String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity,
+                                        Integer nodes) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support signing identities");
+    }
+
+    /**
+     * Signs and broadcasts the transfers, returning one result per transfer in input order. By default each
+     * transfer is broadcast on its own.
+     */
+    default List<TransferResult> broadcastTransactions(List<TransferSpec> transfers, Integer nodes) {
+        List<TransferResult> transferResults = new ArrayList<>();
+        for (TransferSpec transfer : transfers) {
+            TransferResult transferResult = new TransferResult();
+            transferResult.setTransfer(transfer);
+            try {
+                String transactionId = transfer.getSigningIdentity() != null
+                    ? broadcastTransaction(transfer.getRecipientId(), transfer.getSatoshiAmount(), transfer.getVendorField(),
+                        transfer.getSigningIdentity(), nodes)
+                    : broadcastTransaction(transfer.getRecipientId(), transfer.getSatoshiAmount(), transfer.getVendorField(),
+                        transfer.getPassphrase(), nodes);
+                transferResult.setTransactionId(transactionId);
+                transferResult.setAccepted(true);
+                // A broadcast only returns once some peer accepted it
+                transferResult.setAcceptedPeers(1);
+            } catch (RuntimeException e) {
+                transferResult.getErrors().add(e.getMessage());
+            }
+            transferResults.add(transferResult);
+        }
+        return transferResults;
+    }
+
+    /**
+     * Like {@link #getBalance(String)}, but a cached balance is only used if it was read at most
+     * {@code maxAge} milliseconds ago. Without a balance cache this is a plain read.
+     */
+    default AccountBalance getBalance(String address, long maxAge) {
+        return getBalance(address);
+    }
+
+    default Long getHeight() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not report the chain height");
+    }
+
+    default SigningIdentity createSigningIdentity(String passphrase) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support signing identities");
+    }
+
+    /**
+     * Hands each transaction of the page to the consumer as it is read off the wire and returns how
+     * many were read.
+     */
+    default int forEachTransaction(Integer limit, Integer offset, Consumer<Transaction> consumer) {
+        List<Transaction> transactions = getTransactions(limit, offset);
+        transactions.forEach(consumer);
+        return transactions.size();
+    }
+
+    default int forEachTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                     Consumer<Transaction> consumer) {
+        List<Transaction> transactions = getTransactionByRecipientAddress(recipientAddress, limit, offset);
+        transactions.forEach(consumer);
+        return transactions.size();
+    }
+
+    /**
+     * Like {@link #forEachTransaction(Integer, Integer, Consumer)}, handing over each transaction in
+     * compact form.
+     */
+    default int forEachCompactTransaction(Integer limit, Integer offset, Consumer<CompactTransaction> consumer) {
+        return forEachTransaction(limit, offset, transaction -> consumer.accept(CompactTransaction.of(transaction)));
+    }
+
+    default int forEachCompactTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                            Consumer<CompactTransaction> consumer) {
+        return forEachTransactionByRecipientAddress(recipientAddress, limit, offset,
+            transaction -> consumer.accept(CompactTransaction.of(transaction)));
+    }
+
+    /**
+     * Same page as {@link #getTransactions(Integer, Integer)} in the compact form, decoded one
+     * transaction at a time so the full form is never held for the whole page.
+     */
+    default List<CompactTransaction> getCompactTransactions(Integer limit, Integer offset) {
+        List<CompactTransaction> transactions = new ArrayList<>();
+        forEachCompactTransaction(limit, offset, transactions::add);
+        return transactions;
+    }
+
+    default List<CompactTransaction> getCompactTransactionsByRecipientAddress(String recipientAddress, Integer limit, Integer offset) {
+        List<CompactTransaction> transactions = new ArrayList<>();
+        forEachCompactTransactionByRecipientAddress(recipientAddress, limit, offset, transactions::add);
+        return transactions;
+    }
+
+    default Stream<CompactTransaction> streamCompactTransactionsByRecipientAddress(String recipientAddress) {
+        return streamTransactionsByRecipientAddress(recipientAddress).map(CompactTransaction::of);
+    }
+
+    default Stream<Transaction> streamTransactions() {
+        return TransactionHistoryIterator.stream(this::getTransactions);
+    }
+
+    default Stream<Transaction> streamTransactionsByRecipientAddress(String recipientAddress) {
+        return TransactionHistoryIterator.stream((limit, offset) -> getTransactionByRecipientAddress(recipientAddress, limit, offset));
+    }
+
+    /**
+     * Stops the threads and releases the connections and files the client holds, including those of a
+     * wrapped client. By default there is nothing to release.
+     */
+    @Override
+    default void close() {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package ark_java_client;
+
+/**
+ * Wraps a checked exception that ended a client call.
+ */
+public class ArkClientException extends RuntimeException {
+
+    public ArkClientException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,29 @@
+package ark_java_client;
+
+/**
+ * Receives measurements from the http clients. Peers are identified as {@code host:port} of their
+ * api and endpoints by request path, which never contains ids or addresses since those are sent as
+ * query parameters. Implementations are called on request threads and must not block.
+ */
+public interface ArkClientMetrics {
+
+    enum Outcome {
+        SUCCESS,
+        ERROR,
+        TIMEOUT
+    }
+
+    /**
+     * Whether measurements are wanted at all. When false the clients skip instrumenting requests.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    void recordRequest(String peer, String endpoint, long durationNanos, Outcome outcome);
+
+    void recordBroadcast(String peer, int accepted, int rejected);
+
+    void recordSigning(long durationNanos);
+
+}
@@ -17,4 +17,16 @@ public class ArkNetwork {
     private final String epoch;
     private final String version;
 
+    private ArkNetworkHttpSettings httpSettings = new ArkNetworkHttpSettings();
+    private ArkNetworkBroadcastSettings broadcastSettings = new ArkNetworkBroadcastSettings();
+    private ArkNetworkSigningSettings signingSettings = new ArkNetworkSigningSettings();
+    private ArkNetworkPeerSelectionSettings peerSelectionSettings = new ArkNetworkPeerSelectionSettings();
+    private ArkNetworkDiscoverySettings discoverySettings = new ArkNetworkDiscoverySettings();
+    private ArkNetworkTransactionCacheSettings transactionCacheSettings = new ArkNetworkTransactionCacheSettings();
+    private ArkNetworkBalanceCacheSettings balanceCacheSettings = new ArkNetworkBalanceCacheSettings();
+    private ArkNetworkPaymentWatcherSettings paymentWatcherSettings = new ArkNetworkPaymentWatcherSettings();
+    private ArkNetworkTransactionIndexSettings transactionIndexSettings = new ArkNetworkTransactionIndexSettings();
+    private ArkNetworkHedgingSettings hedgingSettings = new ArkNetworkHedgingSettings();
+    private ArkNetworkConcurrencyLimitSettings concurrencyLimitSettings = new ArkNetworkConcurrencyLimitSettings();
+
 }
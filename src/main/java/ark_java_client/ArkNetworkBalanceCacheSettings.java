@@ -0,0 +1,11 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkBalanceCacheSettings {
+    private Boolean enabled = false;
+    private Long maximumSize = 100000L;
+    private Integer maxAge = 60000;
+    private Integer heightPollInterval = 2000;
+}
@@ -0,0 +1,15 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkBroadcastSettings {
+    private Integer threads = 32;
+    private Integer queueCapacity = 1000;
+    private Boolean virtualThreads = false;
+    private Integer quorum;
+    private Boolean cancelRemaining = false;
+    private Integer batchSize = 40;
+    private Integer batchLinger = 50;
+    private Integer maxInFlightBatches = 8;
+}
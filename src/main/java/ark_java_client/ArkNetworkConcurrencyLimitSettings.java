@@ -0,0 +1,16 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkConcurrencyLimitSettings {
+    private Boolean enabled = false;
+    private Integer initialLimit = 10;
+    private Integer minLimit = 1;
+    private Integer maxLimit = 100;
+    private Double backoffRatio = 0.75;
+    private Double latencyTolerance = 2.0;
+    private Integer latencyWindow = 100;
+    private Integer queueTimeout = 3000;
+    private Integer maxQueueSize = 1000;
+}
@@ -0,0 +1,13 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkDiscoverySettings {
+    private Boolean enabled = false;
+    private Integer interval = 60000;
+    private String minVersion;
+    private Integer apiPort;
+    private Integer maxPeers = 100;
+    private Integer probeThreads = 8;
+}
@@ -12,7 +12,7 @@ public class ArkNetworkFactory {
         InputStream fileInputStream = ResourceUtils.getInputStream(configFilename);
         ArkNetworkSettings arkNetworkSettings = yaml.loadAs(fileInputStream, ArkNetworkSettings.class);
         
-        return new ArkNetwork(
+        ArkNetwork arkNetwork = new ArkNetwork(
             arkNetworkSettings.getNetworkVersion(),
             arkNetworkSettings.getScheme(),
             arkNetworkSettings.getTrustedPeers(),
@@ -21,5 +21,39 @@ public class ArkNetworkFactory {
             arkNetworkSettings.getEpoch(),
             arkNetworkSettings.getVersion()
         );
+        if (arkNetworkSettings.getHttp() != null) {
+            arkNetwork.setHttpSettings(arkNetworkSettings.getHttp());
+        }
+        if (arkNetworkSettings.getBroadcast() != null) {
+            arkNetwork.setBroadcastSettings(arkNetworkSettings.getBroadcast());
+        }
+        if (arkNetworkSettings.getSigning() != null) {
+            arkNetwork.setSigningSettings(arkNetworkSettings.getSigning());
+        }
+        if (arkNetworkSettings.getPeerSelection() != null) {
+            arkNetwork.setPeerSelectionSettings(arkNetworkSettings.getPeerSelection());
+        }
+        if (arkNetworkSettings.getDiscovery() != null) {
+            arkNetwork.setDiscoverySettings(arkNetworkSettings.getDiscovery());
+        }
+        if (arkNetworkSettings.getTransactionCache() != null) {
+            arkNetwork.setTransactionCacheSettings(arkNetworkSettings.getTransactionCache());
+        }
+        if (arkNetworkSettings.getBalanceCache() != null) {
+            arkNetwork.setBalanceCacheSettings(arkNetworkSettings.getBalanceCache());
+        }
+        if (arkNetworkSettings.getPaymentWatcher() != null) {
+            arkNetwork.setPaymentWatcherSettings(arkNetworkSettings.getPaymentWatcher());
+        }
+        if (arkNetworkSettings.getTransactionIndex() != null) {
+            arkNetwork.setTransactionIndexSettings(arkNetworkSettings.getTransactionIndex());
+        }
+        if (arkNetworkSettings.getHedging() != null) {
+            arkNetwork.setHedgingSettings(arkNetworkSettings.getHedging());
+        }
+        if (arkNetworkSettings.getConcurrencyLimit() != null) {
+            arkNetwork.setConcurrencyLimitSettings(arkNetworkSettings.getConcurrencyLimit());
+        }
+        return arkNetwork;
     }
 }
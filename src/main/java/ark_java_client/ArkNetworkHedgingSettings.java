@@ -0,0 +1,13 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkHedgingSettings {
+    private Boolean enabled = false;
+    private Integer delay;
+    private Double percentile = 0.95;
+    private Integer minDelay = 10;
+    private Double budget = 0.05;
+    private Integer threads = 64;
+}
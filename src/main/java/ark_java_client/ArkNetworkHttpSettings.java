@@ -0,0 +1,17 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkHttpSettings {
+    private Integer connectTimeout = 3000;
+    private Integer readTimeout = 3000;
+    private Integer connectionRequestTimeout = 3000;
+    private Integer maxConnectionsPerPeer = 100;
+    private Integer maxConnectionsTotal = 200;
+    private Integer keepAlive = 30000;
+    private Integer idleEvictionTime = 30000;
+    private Integer validateAfterInactivity = 2000;
+    private Integer ioThreadCount = Runtime.getRuntime().availableProcessors();
+    private Boolean coalesceReads = true;
+}
@@ -0,0 +1,14 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkPaymentWatcherSettings {
+    private Integer minPollInterval = 8000;
+    private Integer maxPollInterval = 300000;
+    private Integer threads = 8;
+    private Integer pageSize = 50;
+    private Integer minConfirmations = 51;
+    private Integer confirmationMargin = 51;
+    private Integer maxTransactionAge = 21600;
+}
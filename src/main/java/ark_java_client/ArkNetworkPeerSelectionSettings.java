@@ -0,0 +1,11 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkPeerSelectionSettings {
+    private Double ewmaWeight = 0.2;
+    private Integer failureThreshold = 3;
+    private Integer openDuration = 30000;
+    private Integer maxHeightLag = 5;
+}
@@ -13,4 +13,15 @@ public class ArkNetworkSettings {
     private Integer pubKeyHash = 23;
     private String epoch = "2017-03-21 13:00:00";
     private String version;
+    private ArkNetworkHttpSettings http = new ArkNetworkHttpSettings();
+    private ArkNetworkBroadcastSettings broadcast = new ArkNetworkBroadcastSettings();
+    private ArkNetworkSigningSettings signing = new ArkNetworkSigningSettings();
+    private ArkNetworkPeerSelectionSettings peerSelection = new ArkNetworkPeerSelectionSettings();
+    private ArkNetworkDiscoverySettings discovery = new ArkNetworkDiscoverySettings();
+    private ArkNetworkTransactionCacheSettings transactionCache = new ArkNetworkTransactionCacheSettings();
+    private ArkNetworkBalanceCacheSettings balanceCache = new ArkNetworkBalanceCacheSettings();
+    private ArkNetworkPaymentWatcherSettings paymentWatcher = new ArkNetworkPaymentWatcherSettings();
+    private ArkNetworkTransactionIndexSettings transactionIndex = new ArkNetworkTransactionIndexSettings();
+    private ArkNetworkHedgingSettings hedging = new ArkNetworkHedgingSettings();
+    private ArkNetworkConcurrencyLimitSettings concurrencyLimit = new ArkNetworkConcurrencyLimitSettings();
 }
@@ -0,0 +1,11 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkSigningSettings {
+    private Integer identityCacheSize = 100;
+    private Integer identityCacheExpiry = 3600000;
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+    private Integer queueCapacity = 1000;
+}
@@ -0,0 +1,13 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkTransactionCacheSettings {
+    private Boolean enabled = false;
+    private Long maximumSize = 10000L;
+    private Long maximumWeight;
+    private Integer minConfirmations = 51;
+    private Long negativeCacheSize = 10000L;
+    private Integer negativeCacheExpiry = 30000;
+}
@@ -0,0 +1,13 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkNetworkTransactionIndexSettings {
+    private Boolean enabled = false;
+    private String directory = "ark-transaction-index";
+    private Integer segmentSize = 64 * 1024 * 1024;
+    private Integer minConfirmations = 51;
+    private Integer syncOverlap = 2700;
+    private Integer syncInterval = 8000;
+}
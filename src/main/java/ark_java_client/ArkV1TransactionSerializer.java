@@ -0,0 +1,98 @@
+package ark_java_client;
+
+import org.bitcoinj.core.Base58;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+/**
+ * Serializes V1 transfer transactions to the bytes that are hashed for the transaction id and signed.
+ * The network epoch is parsed once, and bytes are written into a reusable per-thread buffer.
+ */
+public class ArkV1TransactionSerializer {
+
+    private static final int PUBLIC_KEY_SIZE = 33;
+    private static final int RECIPIENT_SIZE = 21;
+    private static final int VENDOR_FIELD_SIZE = 64;
+    private static final int MAX_TRANSACTION_SIZE = 1 + 4 + PUBLIC_KEY_SIZE + RECIPIENT_SIZE + VENDOR_FIELD_SIZE + 8 + 8;
+    private static final byte[] ZEROS = new byte[VENDOR_FIELD_SIZE];
+
+    private static final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() ->
+            ByteBuffer.allocate(MAX_TRANSACTION_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+
+    private final long epochMillis;
+
+    public ArkV1TransactionSerializer(ArkNetwork arkNetwork) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        try {
+            this.epochMillis = dateFormat.parse(arkNetwork.getEpoch()).getTime();
+        } catch (ParseException e) {
+            throw new RuntimeException("Failed to parse epoch start date", e);
+        }
+    }
+
+    public long getTimestamp() {
+        return getTimestamp(System.currentTimeMillis());
+    }
+
+    public long getTimestamp(long currentTimeMillis) {
+        return (currentTimeMillis - epochMillis) / 1000L;
+    }
+
+    /**
+     * Writes the transaction into this thread's reusable buffer. The returned buffer is only valid
+     * until the next call on the same thread.
+     */
+    public ByteBuffer serialize(CreateArkTransactionRequest transaction, byte[] senderPublicKey) {
+        if (senderPublicKey.length != PUBLIC_KEY_SIZE) {
+            throw new IllegalArgumentException("Sender public key must be " + PUBLIC_KEY_SIZE + " bytes");
+        }
+        if (transaction.getTimestamp() < 0 || transaction.getTimestamp() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Transaction timestamp " + transaction.getTimestamp() + " is out of range");
+        }
+
+        ByteBuffer buffer = buffers.get();
+        buffer.clear();
+
+        buffer.put(transaction.getType());
+        buffer.putInt((int) transaction.getTimestamp());
+        buffer.put(senderPublicKey);
+
+        if (transaction.getRecipientId() != null) {
+            buffer.put(Base58.decodeChecked(transaction.getRecipientId()));
+        } else {
+            buffer.put(ZEROS, 0, RECIPIENT_SIZE);
+        }
+
+        if (transaction.getVendorField() != null) {
+            byte[] vendorFieldBytes = transaction.getVendorField().getBytes(StandardCharsets.UTF_8);
+            if (vendorFieldBytes.length > VENDOR_FIELD_SIZE) {
+                throw new IllegalArgumentException("Vendor field is " + vendorFieldBytes.length
+                        + " bytes, maximum is " + VENDOR_FIELD_SIZE + " bytes");
+            }
+            buffer.put(vendorFieldBytes);
+            buffer.put(ZEROS, 0, VENDOR_FIELD_SIZE - vendorFieldBytes.length);
+        } else {
+            buffer.put(ZEROS, 0, VENDOR_FIELD_SIZE);
+        }
+
+        buffer.putLong(transaction.getAmount());
+        buffer.putLong(transaction.getFee());
+
+        buffer.flip();
+        return buffer;
+    }
+
+    public byte[] toBytes(CreateArkTransactionRequest transaction, byte[] senderPublicKey) {
+        ByteBuffer buffer = serialize(transaction, senderPublicKey);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
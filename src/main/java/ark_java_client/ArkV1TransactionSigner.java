@@ -0,0 +1,107 @@
+package ark_java_client;
+
+import com.google.common.io.BaseEncoding;
+import io.ark.core.Crypto;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.Sha256Hash;
+
+import java.nio.ByteBuffer;
+
+public class ArkV1TransactionSigner implements TransactionSigner<CreateArkTransactionRequest> {
+
+    private final ArkNetwork arkNetwork;
+    private final SigningIdentityCache signingIdentityCache;
+    private final ArkClientMetrics metrics;
+    private final ArkV1TransactionSerializer transactionSerializer;
+
+    public ArkV1TransactionSigner(ArkNetwork arkNetwork) {
+        this(arkNetwork, NoopArkClientMetrics.INSTANCE);
+    }
+
+    public ArkV1TransactionSigner(ArkNetwork arkNetwork, ArkClientMetrics metrics) {
+        this.arkNetwork = arkNetwork;
+        this.metrics = metrics;
+        this.transactionSerializer = new ArkV1TransactionSerializer(arkNetwork);
+        this.signingIdentityCache = new SigningIdentityCache(arkNetwork.getSigningSettings(), this::createSigningIdentity);
+    }
+
+    public SigningIdentity createSigningIdentity(String passphrase) {
+        ECKey keys = Crypto.getKeys(passphrase);
+        byte[] publicKeyBytes = keys.getPubKey();
+        String publicKey = BaseEncoding.base16().lowerCase().encode(publicKeyBytes);
+        String address;
+        synchronized (Crypto.class) {
+            Crypto.setNetworkVersion(arkNetwork.getPubKeyHash());
+            address = Crypto.getAddress(keys);
+        }
+        return new SigningIdentity(keys, publicKeyBytes, publicKey, address, arkNetwork.getPubKeyHash());
+    }
+
+    public SigningIdentity getSigningIdentity(String passphrase) {
+        return signingIdentityCache.get(passphrase);
+    }
+
+    @Override
+    public String getTransactionId(CreateArkTransactionRequest transaction) {
+        return transaction.getId();
+    }
+
+    @Override
+    public CreateArkTransactionRequest sign(TransferSpec transfer) {
+        if (transfer.getSigningIdentity() != null) {
+            return sign(transfer.getRecipientId(), transfer.getSatoshiAmount(), transfer.getVendorField(), transfer.getSigningIdentity());
+        }
+        return sign(transfer.getRecipientId(), transfer.getSatoshiAmount(), transfer.getVendorField(), transfer.getPassphrase());
+    }
+
+    public CreateArkTransactionRequest sign(String recipientId, Long satoshiAmount, String vendorField, String passphrase) {
+        try {
+            return sign(recipientId, satoshiAmount, vendorField, getSigningIdentity(passphrase));
+        } catch (IllegalStateException e) {
+            // cached identity was evicted and destroyed while in use
+            return sign(recipientId, satoshiAmount, vendorField, createSigningIdentity(passphrase));
+        }
+    }
+
+    // todo: support second passphrase signing
+    // todo: support different transaction types
+    public CreateArkTransactionRequest sign(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity) {
+        return sign(recipientId, satoshiAmount, vendorField, signingIdentity, transactionSerializer.getTimestamp());
+    }
+
+    CreateArkTransactionRequest sign(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity,
+                                     long timestamp) {
+        if (!arkNetwork.getPubKeyHash().equals(signingIdentity.getNetwork())) {
+            throw new IllegalArgumentException("Signing identity was created for a different network");
+        }
+
+        long start = System.nanoTime();
+
+        CreateArkTransactionRequest createArkTransactionRequest = new CreateArkTransactionRequest();
+        createArkTransactionRequest.setType((byte) 0);
+        createArkTransactionRequest.setRecipientId(recipientId);
+        createArkTransactionRequest.setFee(10000000L);
+        createArkTransactionRequest.setVendorField(vendorField);
+        createArkTransactionRequest.setTimestamp(timestamp);
+        createArkTransactionRequest.setAmount(satoshiAmount);
+
+        // sign transaction
+        createArkTransactionRequest.setSenderPublicKey(signingIdentity.getPublicKey());
+
+        // The transaction id and the signed digest are the same single SHA-256 of the transaction bytes
+        ByteBuffer transactionBytes = transactionSerializer.serialize(createArkTransactionRequest, signingIdentity.getPublicKeyBytes());
+        byte[] transactionHash = Sha256Hash.hash(transactionBytes.array(), transactionBytes.position(), transactionBytes.remaining());
+
+        ECKey.ECDSASignature signature = signingIdentity.getKeys().sign(Sha256Hash.wrap(transactionHash));
+        String signatureEncoded = BaseEncoding.base16().lowerCase().encode(signature.encodeToDER());
+
+        createArkTransactionRequest.setSignature(signatureEncoded);
+
+        String id = BaseEncoding.base16().lowerCase().encode(transactionHash);
+        createArkTransactionRequest.setId(id);
+        metrics.recordSigning(System.nanoTime() - start);
+
+        return createArkTransactionRequest;
+    }
+
+}
@@ -7,4 +7,7 @@ import java.util.List;
 @Data
 public class ArkV2CreateTransactionsData {
     private List<String> accept;
+    private List<String> broadcast;
+    private List<String> excess;
+    private List<String> invalid;
 }
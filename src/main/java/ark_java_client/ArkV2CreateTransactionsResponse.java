@@ -2,7 +2,11 @@ package ark_java_client;
 
 import lombok.Data;
 
+import java.util.List;
+import java.util.Map;
+
 @Data
 public class ArkV2CreateTransactionsResponse {
     private ArkV2CreateTransactionsData data;
+    private Map<String, List<ArkV2TransactionError>> errors;
 }
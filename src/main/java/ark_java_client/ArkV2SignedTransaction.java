@@ -0,0 +1,45 @@
+package ark_java_client;
+
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A signed V2 transaction kept as the json the crypto library produced for it, so it can be written
+ * into a request body as is instead of being parsed and serialized again.
+ */
+@Data
+public class ArkV2SignedTransaction {
+
+    private static final byte[] REQUEST_PREFIX = "{\"transactions\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REQUEST_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final String id;
+    private final byte[] json;
+
+    /**
+     * Body of a create transactions request carrying the given transactions.
+     */
+    public static byte[] createTransactionsRequestBody(List<ArkV2SignedTransaction> transactions) {
+        int length = REQUEST_PREFIX.length + REQUEST_SUFFIX.length + Math.max(0, transactions.size() - 1);
+        for (ArkV2SignedTransaction transaction : transactions) {
+            length += transaction.getJson().length;
+        }
+
+        byte[] body = new byte[length];
+        System.arraycopy(REQUEST_PREFIX, 0, body, 0, REQUEST_PREFIX.length);
+        int position = REQUEST_PREFIX.length;
+        for (int i = 0; i < transactions.size(); i++) {
+            if (i > 0) {
+                body[position++] = ',';
+            }
+            byte[] json = transactions.get(i).getJson();
+            System.arraycopy(json, 0, body, position, json.length);
+            position += json.length;
+        }
+        System.arraycopy(REQUEST_SUFFIX, 0, body, position, REQUEST_SUFFIX.length);
+        return body;
+    }
+
+}
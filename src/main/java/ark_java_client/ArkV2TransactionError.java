@@ -0,0 +1,9 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class ArkV2TransactionError {
+    private String type;
+    private String message;
+}
@@ -0,0 +1,87 @@
+package ark_java_client;
+
+import com.google.common.io.BaseEncoding;
+import org.arkecosystem.crypto.identities.Address;
+import org.arkecosystem.crypto.transactions.builder.Transfer;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.Sha256Hash;
+
+import java.nio.charset.StandardCharsets;
+
+public class ArkV2TransactionSigner implements TransactionSigner<ArkV2SignedTransaction> {
+
+    private final ArkNetwork arkNetwork;
+    private final SigningIdentityCache signingIdentityCache;
+    private final ArkClientMetrics metrics;
+
+    public ArkV2TransactionSigner(ArkNetwork arkNetwork) {
+        this(arkNetwork, NoopArkClientMetrics.INSTANCE);
+    }
+
+    public ArkV2TransactionSigner(ArkNetwork arkNetwork, ArkClientMetrics metrics) {
+        this.arkNetwork = arkNetwork;
+        this.metrics = metrics;
+        this.signingIdentityCache = new SigningIdentityCache(arkNetwork.getSigningSettings(), this::createSigningIdentity);
+    }
+
+    public SigningIdentity createSigningIdentity(String passphrase) {
+        ECKey keys = ECKey.fromPrivate(Sha256Hash.hash(passphrase.getBytes(StandardCharsets.UTF_8)), true);
+        byte[] publicKeyBytes = keys.getPubKey();
+        String publicKey = keys.getPublicKeyAsHex();
+        String address = Address.fromPublicKey(publicKey, arkNetwork.getPubKeyHash());
+        return new SigningIdentity(keys, publicKeyBytes, publicKey, address, arkNetwork.getPubKeyHash());
+    }
+
+    public SigningIdentity getSigningIdentity(String passphrase) {
+        return signingIdentityCache.get(passphrase);
+    }
+
+    @Override
+    public String getTransactionId(ArkV2SignedTransaction transaction) {
+        return transaction.getId();
+    }
+
+    @Override
+    public ArkV2SignedTransaction sign(TransferSpec transfer) {
+        if (transfer.getSigningIdentity() != null) {
+            return sign(transfer.getRecipientId(), transfer.getSatoshiAmount(), transfer.getVendorField(), transfer.getSigningIdentity());
+        }
+        return sign(transfer.getRecipientId(), transfer.getSatoshiAmount(), transfer.getVendorField(), transfer.getPassphrase());
+    }
+
+    public ArkV2SignedTransaction sign(String recipientId, Long satoshiAmount, String vendorField, String passphrase) {
+        try {
+            return sign(recipientId, satoshiAmount, vendorField, getSigningIdentity(passphrase));
+        } catch (IllegalStateException e) {
+            // cached identity was evicted and destroyed while in use
+            return sign(recipientId, satoshiAmount, vendorField, createSigningIdentity(passphrase));
+        }
+    }
+
+    // todo: support second passphrase signing
+    // todo: support different transaction types
+    public ArkV2SignedTransaction sign(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity) {
+        if (!arkNetwork.getPubKeyHash().equals(signingIdentity.getNetwork())) {
+            throw new IllegalArgumentException("Signing identity was created for a different network");
+        }
+
+        long start = System.nanoTime();
+        Transfer transferBuilder = new Transfer();
+        transferBuilder.transaction.network = arkNetwork.getPubKeyHash();
+        org.arkecosystem.crypto.transactions.Transaction transaction = transferBuilder
+                .recipient(recipientId)
+                .amount(satoshiAmount)
+                .vendorField(vendorField)
+                .transaction;
+
+        // Same steps as the library's sign(passphrase), with the cached key instead of one derived again
+        transaction.senderPublicKey = signingIdentity.getPublicKey();
+        ECKey.ECDSASignature signature = signingIdentity.getKeys().sign(Sha256Hash.of(transaction.toBytes(true, true)));
+        transaction.signature = BaseEncoding.base16().lowerCase().encode(signature.encodeToDER());
+        transaction.id = transaction.computeId();
+        metrics.recordSigning(System.nanoTime() - start);
+
+        return new ArkV2SignedTransaction(transaction.id, transaction.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,23 @@
+package ark_java_client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncArkClient extends AutoCloseable {
+    CompletableFuture<List<Transaction>> getTransactions(Integer limit, Integer offset);
+    CompletableFuture<List<Transaction>> getTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset);
+    CompletableFuture<Transaction> getTransaction(String arkTransactionId);
+    CompletableFuture<String> broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes);
+    CompletableFuture<String> broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity, Integer nodes);
+    CompletableFuture<AccountBalance> getBalance(String address);
+    CompletableFuture<Long> getHeight();
+    String getAddress(String passphrase);
+    SigningIdentity createSigningIdentity(String passphrase);
+
+    /**
+     * Stops the threads and releases the connections the client holds. By default there is nothing to release.
+     */
+    @Override
+    default void close() {
+    }
+}
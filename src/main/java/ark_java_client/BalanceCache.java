@@ -0,0 +1,83 @@
+package ark_java_client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches account balances stamped with the chain height they were read at. Balances only change
+ * when a block lands, so entries are dropped as soon as the {@link HeightPoller} sees the height
+ * advance past them.
+ */
+public class BalanceCache implements AutoCloseable {
+
+    private final HeightPoller heightPoller;
+    private final long maxAge;
+    private final Cache<String, CachedBalance> balances;
+
+    public BalanceCache(HeightPoller heightPoller, ArkNetworkBalanceCacheSettings balanceCacheSettings) {
+        this.heightPoller = heightPoller;
+        this.maxAge = balanceCacheSettings.getMaxAge();
+        this.balances = Caffeine.newBuilder()
+            .maximumSize(balanceCacheSettings.getMaximumSize())
+            .expireAfterWrite(balanceCacheSettings.getMaxAge(), TimeUnit.MILLISECONDS)
+            .build();
+        heightPoller.addListener(height -> balances.asMap().values().removeIf(balance -> balance.height < height));
+    }
+
+    /**
+     * Last chain height seen by the height poller, or -1 if it hasn't been read yet.
+     */
+    public long getHeight() {
+        return heightPoller.getHeight();
+    }
+
+    public AccountBalance get(String address, Function<String, AccountBalance> balanceLoader) {
+        return get(address, maxAge, balanceLoader);
+    }
+
+    public AccountBalance get(String address, long maxAge, Function<String, AccountBalance> balanceLoader) {
+        CachedBalance cachedBalance = balances.getIfPresent(address);
+        if (cachedBalance != null && cachedBalance.height >= heightPoller.getHeight()
+                && System.currentTimeMillis() - cachedBalance.readAt <= maxAge) {
+            return cachedBalance.accountBalance;
+        }
+
+        // Stamp with the height from before the read, so a block landing mid-read invalidates it
+        long height = heightPoller.getHeight();
+        long readAt = System.currentTimeMillis();
+        AccountBalance accountBalance = balanceLoader.apply(address);
+        if (accountBalance != null) {
+            balances.put(address, new CachedBalance(accountBalance, height, readAt));
+        }
+        return accountBalance;
+    }
+
+    public void invalidate(String address) {
+        balances.invalidate(address);
+    }
+
+    public void invalidateAll() {
+        balances.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        heightPoller.close();
+    }
+
+    private static class CachedBalance {
+        private final AccountBalance accountBalance;
+        private final long height;
+        private final long readAt;
+
+        private CachedBalance(AccountBalance accountBalance, long height, long readAt) {
+            this.accountBalance = accountBalance;
+            this.height = height;
+            this.readAt = readAt;
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package ark_java_client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Signs transfers on a signing pipeline and broadcasts them in batches, shared by the V1 and V2
+ * clients which only differ in how a batch is posted to a peer and how its response is read.
+ */
+@Slf4j
+class BatchBroadcaster<T> {
+
+    private final ArkNetworkBroadcastSettings broadcastSettings;
+    private final SigningPipeline<T> signingPipeline;
+    private final BroadcastExecutor broadcastExecutor;
+    private final PeerSelector peerSelector;
+    private final ArkClientMetrics metrics;
+
+    BatchBroadcaster(ArkNetworkBroadcastSettings broadcastSettings, SigningPipeline<T> signingPipeline,
+                     BroadcastExecutor broadcastExecutor, PeerSelector peerSelector, ArkClientMetrics metrics) {
+        this.broadcastSettings = broadcastSettings;
+        this.signingPipeline = signingPipeline;
+        this.broadcastExecutor = broadcastExecutor;
+        this.peerSelector = peerSelector;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Builds the request for a batch of signed transactions once and returns the call that posts it
+     * to a single peer.
+     */
+    @FunctionalInterface
+    interface BatchSender<T> {
+        Function<Peer, BatchResponse> prepare(List<T> transactions);
+    }
+
+    /**
+     * Transaction ids a peer accepted, and the reasons it gave for any it rejected.
+     */
+    static class BatchResponse {
+        private final Collection<String> accepted;
+        private final Map<String, List<String>> rejected = new LinkedHashMap<>();
+
+        BatchResponse(Collection<String> accepted) {
+            this.accepted = accepted != null ? accepted : Collections.emptyList();
+        }
+
+        BatchResponse reject(String transactionId, String reason) {
+            rejected.computeIfAbsent(transactionId, id -> new ArrayList<>()).add(reason);
+            return this;
+        }
+    }
+
+    List<TransferResult> broadcast(List<TransferSpec> transfers, Integer nodes, BatchSender<T> batchSender) {
+        TransferResultCollector transferResultCollector = new TransferResultCollector(transfers);
+
+        // Sign in parallel while earlier batches are already being broadcast, with a bounded number of
+        // batches in flight so a slow network pushes back on signing
+        Semaphore inFlightBatches = new Semaphore(broadcastSettings.getMaxInFlightBatches());
+        List<CompletableFuture<Void>> batchResults = new ArrayList<>();
+        signingPipeline.process(transfers.stream(), broadcastSettings.getBatchSize(), broadcastSettings.getBatchLinger(), batch -> {
+            List<SignedTransfer<T>> signedBatch = batch.stream()
+                .filter(transferResultCollector::signed)
+                .collect(Collectors.toList());
+            if (signedBatch.isEmpty()) {
+                return;
+            }
+
+            try {
+                inFlightBatches.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting to broadcast transaction batch", e);
+            }
+            CompletableFuture<Void> batchResult = CompletableFuture
+                .allOf(broadcastBatch(signedBatch, nodes, batchSender, transferResultCollector).toArray(new CompletableFuture[0]));
+            batchResult.whenComplete((ignore, e) -> inFlightBatches.release());
+            batchResults.add(batchResult);
+        });
+
+        for (CompletableFuture<Void> batchResult : batchResults) {
+            try {
+                batchResult.join();
+            } catch (CompletionException e) {
+                // peer was rejected by the broadcast executor, already logged
+            }
+        }
+
+        return transferResultCollector.getTransferResults();
+    }
+
+    private List<CompletableFuture<Void>> broadcastBatch(List<SignedTransfer<T>> batch, Integer nodes, BatchSender<T> batchSender,
+                                                         TransferResultCollector transferResultCollector) {
+        // Transaction ids are unique within a batch, duplicates are dropped when signed
+        Map<String, Integer> indexById = new LinkedHashMap<>();
+        batch.forEach(signedTransfer -> indexById.put(signedTransfer.getTransactionId(), signedTransfer.getIndex()));
+
+        Function<Peer, BatchResponse> batchRequest = batchSender.prepare(
+            batch.stream().map(SignedTransfer::getTransaction).collect(Collectors.toList()));
+
+        List<Peer> broadcastPeers = peerSelector.selectBroadcastPeers(nodes);
+        log.info("Broadcasting batch of " + batch.size() + " transactions to " + broadcastPeers.size() + " peers: "
+            + StringUtils.join(broadcastPeers.stream().map(Peer::getIp).collect(Collectors.toList()), ", "));
+
+        return broadcastExecutor.fanOut(broadcastPeers, peer -> {
+            try {
+                BatchResponse response = peerSelector.call(peer, batchRequest);
+                collect(peer, indexById, response, transferResultCollector);
+            } catch (Exception e) {
+                metrics.recordBroadcast(getPeerName(peer), 0, batch.size());
+                log.warn("Failed to broadcast transaction batch to node " + getPeerName(peer) + ": " + e.getMessage(), e);
+                transferResultCollector.rejectAll(peer, indexById.values(), e.getMessage());
+            }
+            return null;
+        });
+    }
+
+    private void collect(Peer peer, Map<String, Integer> indexById, BatchResponse response,
+                         TransferResultCollector transferResultCollector) {
+        Set<String> answered = new HashSet<>();
+        int accepted = 0;
+        for (String transactionId : response.accepted) {
+            Integer index = indexById.get(transactionId);
+            if (index != null && answered.add(transactionId)) {
+                transferResultCollector.accept(index);
+                accepted++;
+            }
+        }
+        response.rejected.forEach((transactionId, reasons) -> {
+            Integer index = indexById.get(transactionId);
+            if (index != null && answered.add(transactionId)) {
+                reasons.forEach(reason -> transferResultCollector.reject(peer, index, reason));
+            }
+        });
+        // A peer may leave transactions out of its response altogether
+        indexById.forEach((transactionId, index) -> {
+            if (!answered.contains(transactionId)) {
+                transferResultCollector.reject(peer, index, "transaction not accepted");
+            }
+        });
+        metrics.recordBroadcast(getPeerName(peer), accepted, indexById.size() - accepted);
+    }
+
+    private String getPeerName(Peer peer) {
+        return peer.getIp() + ":" + peer.getApiPort();
+    }
+
+}
@@ -0,0 +1,10 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class BlockHeight {
+    private Boolean success;
+    private Long height;
+    private String id;
+}
@@ -0,0 +1,157 @@
+package ark_java_client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded executor dedicated to broadcast fan-out, so blocking peer POSTs never run on the
+ * JVM-wide common ForkJoinPool. Each client gets its own instance to bulkhead its broadcasts.
+ */
+@Slf4j
+public class BroadcastExecutor implements AutoCloseable {
+
+    private final ExecutorService executorService;
+    private final ThreadPoolExecutor threadPoolExecutor;
+    private final Semaphore virtualThreadPermits;
+
+    private final AtomicInteger activeFanOuts = new AtomicInteger();
+    private final AtomicInteger waitingTasks = new AtomicInteger();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public BroadcastExecutor(ArkNetworkBroadcastSettings broadcastSettings) {
+        ExecutorService virtualThreadExecutor = null;
+        if (Boolean.TRUE.equals(broadcastSettings.getVirtualThreads())) {
+            virtualThreadExecutor = createVirtualThreadExecutor();
+        }
+
+        if (virtualThreadExecutor != null) {
+            // Virtual threads are cheap, so bound concurrency with permits instead of a pool
+            this.executorService = virtualThreadExecutor;
+            this.threadPoolExecutor = null;
+            this.virtualThreadPermits = new Semaphore(broadcastSettings.getThreads());
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.threadPoolExecutor = new ThreadPoolExecutor(
+                    broadcastSettings.getThreads(),
+                    broadcastSettings.getThreads(),
+                    60L,
+                    TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(broadcastSettings.getQueueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "ark-broadcast-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+            );
+            this.threadPoolExecutor.allowCoreThreadTimeOut(true);
+            this.executorService = threadPoolExecutor;
+            this.virtualThreadPermits = null;
+        }
+    }
+
+    public <T> List<CompletableFuture<T>> fanOut(List<Peer> peers, Function<Peer, T> peerTask) {
+        activeFanOuts.incrementAndGet();
+        List<CompletableFuture<T>> peerResults = peers.stream()
+                .map(peer -> submit(peer, peerTask))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(peerResults.toArray(new CompletableFuture[0]))
+                .whenComplete((ignore, e) -> activeFanOuts.decrementAndGet());
+        return peerResults;
+    }
+
+    public int getQueueDepth() {
+        if (threadPoolExecutor != null) {
+            return threadPoolExecutor.getQueue().size();
+        }
+        return waitingTasks.get();
+    }
+
+    public int getActiveFanOuts() {
+        return activeFanOuts.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    /**
+     * Cancelling the returned future drops the task if it hasn't started, and interrupts it otherwise.
+     */
+    private <T> CompletableFuture<T> submit(Peer peer, Function<Peer, T> peerTask) {
+        AtomicReference<Future<?>> task = new AtomicReference<>();
+        CompletableFuture<T> result = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                Future<?> submitted = task.get();
+                if (submitted != null) {
+                    submitted.cancel(mayInterruptIfRunning);
+                }
+                return cancelled;
+            }
+        };
+        try {
+            task.set(executorService.submit(() -> {
+                try {
+                    result.complete(run(peer, peerTask));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            }));
+            if (result.isCancelled()) {
+                task.get().cancel(true);
+            }
+            return result;
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            log.warn("Broadcast executor rejected broadcast to node " + peer.getIp() + ": queue is full");
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    private <T> T run(Peer peer, Function<Peer, T> peerTask) {
+        if (virtualThreadPermits == null) {
+            return peerTask.apply(peer);
+        }
+        waitingTasks.incrementAndGet();
+        try {
+            virtualThreadPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to broadcast to node " + peer.getIp(), e);
+        } finally {
+            waitingTasks.decrementAndGet();
+        }
+        try {
+            return peerTask.apply(peer);
+        } finally {
+            virtualThreadPermits.release();
+        }
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) {
+            log.warn("Virtual threads are not available on this JVM, falling back to platform broadcast threads");
+            return null;
+        }
+    }
+
+}
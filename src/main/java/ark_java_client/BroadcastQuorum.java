@@ -0,0 +1,85 @@
+package ark_java_client;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Collects per-peer broadcast results and completes as soon as enough peers have accepted the
+ * transaction, returning the transaction id agreed on by the most peers.
+ */
+public class BroadcastQuorum {
+
+    private final Integer quorum;
+    private final boolean cancelRemaining;
+
+    public BroadcastQuorum(Integer quorum, Boolean cancelRemaining) {
+        this.quorum = quorum;
+        this.cancelRemaining = Boolean.TRUE.equals(cancelRemaining);
+    }
+
+    public CompletableFuture<String> collect(List<CompletableFuture<List<String>>> peerResults) {
+        // Without a quorum, wait for all peers to accept or fail like a full broadcast
+        int requiredAccepts = quorum != null && quorum > 0 ? Math.min(quorum, peerResults.size()) : peerResults.size();
+        Votes votes = new Votes(peerResults.size(), requiredAccepts);
+
+        for (CompletableFuture<List<String>> peerResult : peerResults) {
+            peerResult.whenComplete((transactionIds, e) -> votes.add(e == null ? transactionIds : null));
+        }
+
+        if (cancelRemaining) {
+            votes.result.whenComplete((transactionId, e) -> peerResults.forEach(peerResult -> peerResult.cancel(true)));
+        }
+
+        return votes.result;
+    }
+
+    private static class Votes {
+        private final int peerCount;
+        private final int requiredAccepts;
+        private final Map<String, Integer> transactionIdCounts = new LinkedHashMap<>();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private int finishedPeers;
+        private int acceptedPeers;
+
+        Votes(int peerCount, int requiredAccepts) {
+            this.peerCount = peerCount;
+            this.requiredAccepts = requiredAccepts;
+            if (peerCount == 0) {
+                complete();
+            }
+        }
+
+        synchronized void add(List<String> transactionIds) {
+            finishedPeers++;
+            if (transactionIds != null && transactionIds.size() > 0) {
+                acceptedPeers++;
+                transactionIds.forEach(id -> transactionIdCounts.merge(id, 1, Integer::sum));
+            }
+            if (acceptedPeers >= requiredAccepts || finishedPeers >= peerCount) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (result.isDone()) {
+                return;
+            }
+            String bestTransactionId = null;
+            int bestCount = 0;
+            for (Map.Entry<String, Integer> entry : transactionIdCounts.entrySet()) {
+                if (entry.getValue() > bestCount) {
+                    bestTransactionId = entry.getKey();
+                    bestCount = entry.getValue();
+                }
+            }
+            if (bestTransactionId != null) {
+                result.complete(bestTransactionId);
+            } else {
+                result.completeExceptionally(new RuntimeException("Broadcast failed because no nodes accepted transaction"));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,318 @@
+package ark_java_client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Caches transactions that are buried deep enough in the chain to never change, so repeated
+ * lookups of the same transaction id don't go back to the network. Unknown transaction ids are
+ * remembered for a short time as well. Balances are cached until the next block when a
+ * {@link BalanceCache} is given.
+ *
+ * Cached transactions are handed out as copies, with confirmations counted up to the highest chain
+ * height the client has seen in responses or from the balance cache's height poller.
+ */
+public class CachingArkClient implements ArkClient {
+
+    private final ArkClient arkClient;
+    private final int minConfirmations;
+    private final Cache<String, Transaction> transactions;
+    private final Cache<String, Boolean> unknownTransactionIds;
+    private final BalanceCache balanceCache;
+
+    private final AtomicLong chainHeight = new AtomicLong(-1);
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder negativeHitCount = new LongAdder();
+
+    public CachingArkClient(ArkClient arkClient, ArkNetworkTransactionCacheSettings transactionCacheSettings) {
+        this(arkClient, transactionCacheSettings, null);
+    }
+
+    public CachingArkClient(ArkClient arkClient, ArkNetworkTransactionCacheSettings transactionCacheSettings,
+                            BalanceCache balanceCache) {
+        this.arkClient = arkClient;
+        this.balanceCache = balanceCache;
+        if (transactionCacheSettings == null) {
+            // Only cache balances
+            this.minConfirmations = 0;
+            this.transactions = null;
+            this.unknownTransactionIds = null;
+            return;
+        }
+        this.minConfirmations = transactionCacheSettings.getMinConfirmations();
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (transactionCacheSettings.getMaximumWeight() != null) {
+            this.transactions = builder
+                .maximumWeight(transactionCacheSettings.getMaximumWeight())
+                .weigher((String id, Transaction transaction) -> getWeight(transaction))
+                .build();
+        } else {
+            this.transactions = builder
+                .maximumSize(transactionCacheSettings.getMaximumSize())
+                .build();
+        }
+        this.unknownTransactionIds = Caffeine.newBuilder()
+            .maximumSize(transactionCacheSettings.getNegativeCacheSize())
+            .expireAfterWrite(transactionCacheSettings.getNegativeCacheExpiry(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Override
+    public List<Transaction> getTransactions(Integer limit, Integer offset) {
+        return cacheConfirmed(arkClient.getTransactions(limit, offset));
+    }
+
+    @Override
+    public List<Transaction> getTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset) {
+        return cacheConfirmed(arkClient.getTransactionByRecipientAddress(recipientAddress, limit, offset));
+    }
+
+    @Override
+    public int forEachTransaction(Integer limit, Integer offset, Consumer<Transaction> consumer) {
+        return arkClient.forEachTransaction(limit, offset, transaction -> {
+            cacheIfConfirmed(transaction);
+            consumer.accept(transaction);
+        });
+    }
+
+    @Override
+    public int forEachTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                    Consumer<Transaction> consumer) {
+        return arkClient.forEachTransactionByRecipientAddress(recipientAddress, limit, offset, transaction -> {
+            cacheIfConfirmed(transaction);
+            consumer.accept(transaction);
+        });
+    }
+
+    @Override
+    public int forEachCompactTransaction(Integer limit, Integer offset, Consumer<CompactTransaction> consumer) {
+        // Compact reads skip the full form, so there is nothing to cache
+        return arkClient.forEachCompactTransaction(limit, offset, consumer);
+    }
+
+    @Override
+    public int forEachCompactTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                           Consumer<CompactTransaction> consumer) {
+        return arkClient.forEachCompactTransactionByRecipientAddress(recipientAddress, limit, offset, consumer);
+    }
+
+    @Override
+    public Transaction getTransaction(String arkTransactionId) {
+        if (transactions == null) {
+            return arkClient.getTransaction(arkTransactionId);
+        }
+        Transaction cachedTransaction = transactions.getIfPresent(arkTransactionId);
+        if (cachedTransaction != null) {
+            hitCount.increment();
+            return withConfirmations(cachedTransaction);
+        }
+        Boolean notFoundResponse = unknownTransactionIds.getIfPresent(arkTransactionId);
+        if (notFoundResponse != null) {
+            // Answer the way the peer did: a 404 response or an empty transaction
+            negativeHitCount.increment();
+            if (notFoundResponse) {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "Transaction not found");
+            }
+            return null;
+        }
+
+        missCount.increment();
+        Transaction transaction;
+        try {
+            transaction = arkClient.getTransaction(arkTransactionId);
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                unknownTransactionIds.put(arkTransactionId, Boolean.TRUE);
+            }
+            throw e;
+        }
+        if (transaction == null) {
+            unknownTransactionIds.put(arkTransactionId, Boolean.FALSE);
+            return null;
+        }
+        cacheIfConfirmed(transaction);
+        return transaction;
+    }
+
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes) {
+        String transactionId = broadcastTransaction(arkClient.broadcastTransaction(recipientId, satoshiAmount, vendorField, passphrase, nodes));
+        invalidateBalances(arkClient.getAddress(passphrase), recipientId);
+        return transactionId;
+    }
+
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity, Integer nodes) {
+        String transactionId = broadcastTransaction(arkClient.broadcastTransaction(recipientId, satoshiAmount, vendorField, signingIdentity, nodes));
+        invalidateBalances(signingIdentity.getAddress(), recipientId);
+        return transactionId;
+    }
+
+    @Override
+    public List<TransferResult> broadcastTransactions(List<TransferSpec> transfers, Integer nodes) {
+        List<TransferResult> transferResults = arkClient.broadcastTransactions(transfers, nodes);
+        if (unknownTransactionIds != null) {
+            transferResults.stream()
+                .filter(transferResult -> transferResult.getTransactionId() != null)
+                .forEach(transferResult -> unknownTransactionIds.invalidate(transferResult.getTransactionId()));
+        }
+        if (balanceCache != null) {
+            // Senders and recipients of a whole batch, cheaper to drop everything
+            balanceCache.invalidateAll();
+        }
+        return transferResults;
+    }
+
+    @Override
+    public AccountBalance getBalance(String address) {
+        if (balanceCache == null) {
+            return arkClient.getBalance(address);
+        }
+        return balanceCache.get(address, arkClient::getBalance);
+    }
+
+    /**
+     * Returns the balance from the cache only if it was read from the current block and at most
+     * {@code maxAge} milliseconds ago.
+     */
+    @Override
+    public AccountBalance getBalance(String address, long maxAge) {
+        if (balanceCache == null) {
+            return arkClient.getBalance(address);
+        }
+        return balanceCache.get(address, maxAge, arkClient::getBalance);
+    }
+
+    @Override
+    public Long getHeight() {
+        return arkClient.getHeight();
+    }
+
+    @Override
+    public String getAddress(String passphrase) {
+        return arkClient.getAddress(passphrase);
+    }
+
+    @Override
+    public SigningIdentity createSigningIdentity(String passphrase) {
+        return arkClient.createSigningIdentity(passphrase);
+    }
+
+    /**
+     * Stops polling the chain height for the balance cache, then closes the wrapped client.
+     */
+    @Override
+    public void close() {
+        if (balanceCache != null) {
+            balanceCache.close();
+        }
+        arkClient.close();
+    }
+
+    public TransactionCacheStats getStats() {
+        if (transactions == null) {
+            return new TransactionCacheStats(0, 0, 0, 0, 0);
+        }
+        // Eviction runs asynchronously, catch up so the counts are current
+        transactions.cleanUp();
+        return new TransactionCacheStats(
+            hitCount.sum(),
+            missCount.sum(),
+            negativeHitCount.sum(),
+            transactions.stats().evictionCount(),
+            transactions.estimatedSize()
+        );
+    }
+
+    public void invalidateAll() {
+        if (transactions != null) {
+            transactions.invalidateAll();
+            unknownTransactionIds.invalidateAll();
+        }
+        if (balanceCache != null) {
+            balanceCache.invalidateAll();
+        }
+    }
+
+    private String broadcastTransaction(String transactionId) {
+        // A transaction we just broadcast may have been looked up before it existed
+        if (unknownTransactionIds != null) {
+            unknownTransactionIds.invalidate(transactionId);
+        }
+        return transactionId;
+    }
+
+    private void invalidateBalances(String senderAddress, String recipientAddress) {
+        // Unconfirmed balances change as soon as the transaction is broadcast
+        if (balanceCache != null) {
+            balanceCache.invalidate(senderAddress);
+            balanceCache.invalidate(recipientAddress);
+        }
+    }
+
+    private List<Transaction> cacheConfirmed(List<Transaction> transactions) {
+        if (transactions != null) {
+            transactions.forEach(this::cacheIfConfirmed);
+        }
+        return transactions;
+    }
+
+    private void cacheIfConfirmed(Transaction transaction) {
+        if (transaction.getHeight() != null && transaction.getConfirmations() != null) {
+            // A transaction at height h with c confirmations was read at chain height h + c - 1
+            chainHeight.accumulateAndGet(transaction.getHeight() + transaction.getConfirmations() - 1L, Math::max);
+        }
+        if (transactions != null && transaction.getId() != null && transaction.getConfirmations() != null
+                && transaction.getConfirmations() >= minConfirmations) {
+            // A copy, so the caller changing its transaction doesn't change the cached one
+            transactions.put(transaction.getId(), transaction.copy());
+            unknownTransactionIds.invalidate(transaction.getId());
+        }
+    }
+
+    private Transaction withConfirmations(Transaction cachedTransaction) {
+        Transaction transaction = cachedTransaction.copy();
+        long height = chainHeight.get();
+        if (balanceCache != null) {
+            height = Math.max(height, balanceCache.getHeight());
+        }
+        if (height >= 0 && transaction.getHeight() != null) {
+            transaction.setConfirmations((int) Math.max(transaction.getConfirmations(), height - transaction.getHeight() + 1));
+        }
+        return transaction;
+    }
+
+    private static int getWeight(Transaction transaction) {
+        // Rough retained size in bytes: object headers and boxed fields plus the string contents
+        int weight = 200;
+        weight += getWeight(transaction.getId());
+        weight += getWeight(transaction.getBlockId());
+        weight += getWeight(transaction.getSenderPublicKey());
+        weight += getWeight(transaction.getSenderId());
+        weight += getWeight(transaction.getRecipientId());
+        weight += getWeight(transaction.getSignature());
+        weight += getWeight(transaction.getVendorField());
+        if (transaction.getSignatures() != null) {
+            for (String signature : transaction.getSignatures()) {
+                weight += getWeight(signature);
+            }
+        }
+        return weight;
+    }
+
+    private static int getWeight(String value) {
+        return value == null ? 0 : 40 + 2 * value.length();
+    }
+
+}
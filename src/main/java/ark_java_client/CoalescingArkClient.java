@@ -0,0 +1,100 @@
+package ark_java_client;
+
+import ark_java_client.lib.SingleFlight;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces concurrent lookups of the same transaction id or balance address into a single
+ * request, so a burst of callers asking for the same key right after a block doesn't turn into a
+ * burst of identical requests to the peers.
+ */
+public class CoalescingArkClient implements ArkClient {
+
+    private final ArkClient arkClient;
+    private final SingleFlight<String, Transaction> transactionReads = new SingleFlight<>();
+    private final SingleFlight<String, AccountBalance> balanceReads = new SingleFlight<>();
+
+    public CoalescingArkClient(ArkClient arkClient) {
+        this.arkClient = arkClient;
+    }
+
+    @Override
+    public List<Transaction> getTransactions(Integer limit, Integer offset) {
+        return arkClient.getTransactions(limit, offset);
+    }
+
+    @Override
+    public List<Transaction> getTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset) {
+        return arkClient.getTransactionByRecipientAddress(recipientAddress, limit, offset);
+    }
+
+    @Override
+    public int forEachTransaction(Integer limit, Integer offset, Consumer<Transaction> consumer) {
+        return arkClient.forEachTransaction(limit, offset, consumer);
+    }
+
+    @Override
+    public int forEachTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                    Consumer<Transaction> consumer) {
+        return arkClient.forEachTransactionByRecipientAddress(recipientAddress, limit, offset, consumer);
+    }
+
+    @Override
+    public int forEachCompactTransaction(Integer limit, Integer offset, Consumer<CompactTransaction> consumer) {
+        return arkClient.forEachCompactTransaction(limit, offset, consumer);
+    }
+
+    @Override
+    public int forEachCompactTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                           Consumer<CompactTransaction> consumer) {
+        return arkClient.forEachCompactTransactionByRecipientAddress(recipientAddress, limit, offset, consumer);
+    }
+
+    @Override
+    public Transaction getTransaction(String arkTransactionId) {
+        return transactionReads.call(arkTransactionId, () -> arkClient.getTransaction(arkTransactionId));
+    }
+
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes) {
+        return arkClient.broadcastTransaction(recipientId, satoshiAmount, vendorField, passphrase, nodes);
+    }
+
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity, Integer nodes) {
+        return arkClient.broadcastTransaction(recipientId, satoshiAmount, vendorField, signingIdentity, nodes);
+    }
+
+    @Override
+    public List<TransferResult> broadcastTransactions(List<TransferSpec> transfers, Integer nodes) {
+        return arkClient.broadcastTransactions(transfers, nodes);
+    }
+
+    @Override
+    public AccountBalance getBalance(String address) {
+        return balanceReads.call(address, () -> arkClient.getBalance(address));
+    }
+
+    @Override
+    public Long getHeight() {
+        return arkClient.getHeight();
+    }
+
+    @Override
+    public String getAddress(String passphrase) {
+        return arkClient.getAddress(passphrase);
+    }
+
+    @Override
+    public SigningIdentity createSigningIdentity(String passphrase) {
+        return arkClient.createSigningIdentity(passphrase);
+    }
+
+    @Override
+    public void close() {
+        arkClient.close();
+    }
+
+}
@@ -0,0 +1,229 @@
+package ark_java_client;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.io.BaseEncoding;
+import lombok.Data;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Memory-lean, immutable form of a {@link Transaction} for holding large histories. Numbers are
+ * primitives with -1 standing for unknown, the id, sender public key and signature are kept as raw
+ * bytes, and addresses and block ids are interned so repeats share one string. {@code asset} and
+ * {@code signatures} are kept as json bytes and only decoded when asked for. Read through
+ * {@link TransactionsResponseExtractor#compact}, those bytes are taken straight from the response.
+ *
+ * Two compact transactions are equal when their ids are. One without an id is only equal to itself.
+ */
+public final class CompactTransaction {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final BaseEncoding hex = BaseEncoding.base16().lowerCase();
+    private static final Interner<String> strings = Interners.newWeakInterner();
+
+    private final byte[] id;
+    private final String blockId;
+    private final int height;
+    private final int type;
+    private final int timestamp;
+    private final int confirmations;
+    private final byte[] senderPublicKey;
+    private final String senderId;
+    private final String recipientId;
+    private final long amount;
+    private final long fee;
+    private final byte[] signature;
+    private final String vendorField;
+    private final byte[] extras;
+
+    private CompactTransaction(Transaction transaction, byte[] extras) {
+        this.id = decodeHex(transaction.getId());
+        this.blockId = intern(transaction.getBlockId());
+        this.height = orUnknown(transaction.getHeight());
+        this.type = orUnknown(transaction.getType());
+        this.timestamp = orUnknown(transaction.getTimestamp());
+        this.confirmations = orUnknown(transaction.getConfirmations());
+        this.senderPublicKey = decodeHex(transaction.getSenderPublicKey());
+        this.senderId = intern(transaction.getSenderId());
+        this.recipientId = intern(transaction.getRecipientId());
+        this.amount = transaction.getAmount() != null ? transaction.getAmount() : -1;
+        this.fee = transaction.getFee() != null ? transaction.getFee() : -1;
+        this.signature = decodeHex(transaction.getSignature());
+        this.vendorField = transaction.getVendorField();
+        this.extras = extras;
+    }
+
+    public static CompactTransaction of(Transaction transaction) {
+        return new CompactTransaction(transaction, encodeExtras(transaction));
+    }
+
+    /**
+     * Compact form of a transaction read without its asset and signatures, which are given as the json
+     * object holding them instead, or null if it had neither.
+     */
+    static CompactTransaction of(Transaction transaction, byte[] extras) {
+        return new CompactTransaction(transaction, extras);
+    }
+
+    public Transaction toTransaction() {
+        Transaction transaction = new Transaction();
+        transaction.setId(getId());
+        transaction.setBlockId(blockId);
+        transaction.setHeight(orNull(height));
+        transaction.setType(orNull(type));
+        transaction.setTimestamp(orNull(timestamp));
+        transaction.setConfirmations(orNull(confirmations));
+        transaction.setSenderPublicKey(getSenderPublicKey());
+        transaction.setSenderId(senderId);
+        transaction.setRecipientId(recipientId);
+        transaction.setAmount(amount >= 0 ? amount : null);
+        transaction.setFee(fee >= 0 ? fee : null);
+        transaction.setSignature(getSignature());
+        transaction.setVendorField(vendorField);
+        if (extras != null) {
+            Extras decoded = decodeExtras();
+            transaction.setAsset(decoded.getAsset());
+            transaction.setSignatures(decoded.getSignatures());
+        }
+        return transaction;
+    }
+
+    public String getId() {
+        return id != null ? hex.encode(id) : null;
+    }
+
+    public String getBlockId() {
+        return blockId;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public int getTimestamp() {
+        return timestamp;
+    }
+
+    public int getConfirmations() {
+        return confirmations;
+    }
+
+    public String getSenderPublicKey() {
+        return senderPublicKey != null ? hex.encode(senderPublicKey) : null;
+    }
+
+    public String getSenderId() {
+        return senderId;
+    }
+
+    public String getRecipientId() {
+        return recipientId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public long getFee() {
+        return fee;
+    }
+
+    public String getSignature() {
+        return signature != null ? hex.encode(signature) : null;
+    }
+
+    public String getVendorField() {
+        return vendorField;
+    }
+
+    public Object getAsset() {
+        return extras != null ? decodeExtras().getAsset() : null;
+    }
+
+    public List<String> getSignatures() {
+        return extras != null ? decodeExtras().getSignatures() : null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (id == null) {
+            return this == other;
+        }
+        return other instanceof CompactTransaction && Arrays.equals(id, ((CompactTransaction) other).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? Arrays.hashCode(id) : System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactTransaction(id=" + getId() + ", height=" + height + ", recipientId=" + recipientId
+            + ", amount=" + amount + ")";
+    }
+
+    private Extras decodeExtras() {
+        try {
+            return objectMapper.readValue(extras, Extras.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode asset of transaction " + getId(), e);
+        }
+    }
+
+    private static byte[] encodeExtras(Transaction transaction) {
+        if (transaction.getAsset() == null && transaction.getSignatures() == null) {
+            return null;
+        }
+        Extras extras = new Extras();
+        extras.setAsset(transaction.getAsset());
+        extras.setSignatures(transaction.getSignatures());
+        try {
+            return objectMapper.writeValueAsBytes(extras);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode asset of transaction " + transaction.getId(), e);
+        }
+    }
+
+    private static byte[] decodeHex(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return hex.decode(value.toLowerCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Expected a hex value but got " + value, e);
+        }
+    }
+
+    private static String intern(String value) {
+        return value != null ? strings.intern(value) : null;
+    }
+
+    private static int orUnknown(Integer value) {
+        return value != null ? value : -1;
+    }
+
+    private static Integer orNull(int value) {
+        return value >= 0 ? value : null;
+    }
+
+    @Data
+    private static class Extras {
+        private Object asset;
+        private List<String> signatures;
+    }
+
+}
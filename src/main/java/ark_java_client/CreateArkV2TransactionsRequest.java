@@ -5,6 +5,11 @@ import lombok.Data;
 
 import java.util.List;
 
+/**
+ * @deprecated the client no longer builds this request. It writes the signed transactions' json into the
+ * body as is with {@link ArkV2SignedTransaction#createTransactionsRequestBody(List)}.
+ */
+@Deprecated
 @Data
 public class CreateArkV2TransactionsRequest {
 
@@ -0,0 +1,66 @@
+package ark_java_client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Polls the chain height in the background and notifies listeners whenever a new block lands.
+ */
+@Slf4j
+public class HeightPoller implements AutoCloseable {
+
+    private final ArkClient arkClient;
+    private final ScheduledExecutorService scheduler;
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+    private volatile long height = -1;
+
+    public HeightPoller(ArkClient arkClient, long pollInterval) {
+        this.arkClient = arkClient;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ark-height-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Last seen chain height, or -1 if the height hasn't been read yet.
+     */
+    public long getHeight() {
+        return height;
+    }
+
+    public void addListener(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void poll() {
+        Long currentHeight;
+        try {
+            currentHeight = arkClient.getHeight();
+        } catch (Exception e) {
+            log.debug("Failed to poll Ark network height: " + e.getMessage());
+            return;
+        }
+        // Peers can lag behind each other, so never move the height backwards
+        if (currentHeight != null && currentHeight > height) {
+            height = currentHeight;
+            for (LongConsumer listener : listeners) {
+                listener.accept(currentHeight);
+            }
+        }
+    }
+
+}
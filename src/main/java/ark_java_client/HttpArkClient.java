@@ -1,21 +1,20 @@
 package ark_java_client;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import ark_java_client.lib.Closeables;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.arkecosystem.crypto.identities.Address;
-import org.arkecosystem.crypto.transactions.builder.Transfer;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -24,149 +23,296 @@ public class HttpArkClient implements ArkClient {
 
     private final ArkNetwork arkNetwork;
     private final RestTemplate restTemplate;
-    private final List<Peer> trustedPeers;
+    private final PeerSelector peerSelector;
+    private final ReadHedger readHedger;
+    private final ArkV2TransactionSigner transactionSigner;
+    private final BroadcastExecutor broadcastExecutor;
+    private final SigningPipeline<ArkV2SignedTransaction> signingPipeline;
+    private final ArkClientMetrics metrics;
+    private final List<AutoCloseable> resources;
 
     @Override
     public List<Transaction> getTransactions(Integer limit, Integer offset) {
-        return restTemplate
-            .exchange(
-                getRandomTrustedPeerUrl() + "/api/transactions?orderBy=timestamp:desc" +
-                    "&limit={limit}" +
-                    "&offset={offset}",
-                HttpMethod.GET,
-                new HttpEntity<>(getApiHttpHeaders()),
-                TransactionsResponse.class,
-                limit,
-                offset
-            )
-            .getBody()
-            .getTransactions();
+        return readHedger.call(peer -> {
+            List<Transaction> transactions = restTemplate
+                .exchange(
+                    getPeerUrl(peer) + "/api/transactions?orderBy=timestamp:desc" +
+                        "&limit={limit}" +
+                        "&offset={offset}",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    TransactionsResponse.class,
+                    limit,
+                    offset
+                )
+                .getBody()
+                .getTransactions();
+            peerSelector.recordHeight(peer, transactions);
+            return transactions;
+        });
     }
 
     @Override
     public List<Transaction> getTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset) {
-        return restTemplate
-            .exchange(
-                getRandomTrustedPeerUrl() + "/api/transactions?orderBy=timestamp:desc" +
-                    "&limit={limit}" +
-                    "&offset={offset}" +
-                    "&recipientId={recipientId}",
+        return readHedger.call(peer -> {
+            List<Transaction> transactions = restTemplate
+                .exchange(
+                    getPeerUrl(peer) + "/api/transactions?orderBy=timestamp:desc" +
+                        "&limit={limit}" +
+                        "&offset={offset}" +
+                        "&recipientId={recipientId}",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    TransactionsResponse.class,
+                    limit,
+                    offset,
+                    recipientAddress
+                )
+                .getBody()
+                .getTransactions();
+            peerSelector.recordHeight(peer, transactions);
+            return transactions;
+        });
+    }
+
+    @Override
+    public int forEachTransaction(Integer limit, Integer offset, Consumer<Transaction> consumer) {
+        return forEachTransaction(
+            consumer,
+            "/api/transactions?orderBy=timestamp:desc" +
+                "&limit={limit}" +
+                "&offset={offset}",
+            limit,
+            offset
+        );
+    }
+
+    @Override
+    public int forEachTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                    Consumer<Transaction> consumer) {
+        return forEachTransaction(
+            consumer,
+            "/api/transactions?orderBy=timestamp:desc" +
+                "&limit={limit}" +
+                "&offset={offset}" +
+                "&recipientId={recipientId}",
+            limit,
+            offset,
+            recipientAddress
+        );
+    }
+
+    @Override
+    public int forEachCompactTransaction(Integer limit, Integer offset, Consumer<CompactTransaction> consumer) {
+        return forEachCompactTransaction(
+            consumer,
+            "/api/transactions?orderBy=timestamp:desc" +
+                "&limit={limit}" +
+                "&offset={offset}",
+            limit,
+            offset
+        );
+    }
+
+    @Override
+    public int forEachCompactTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                           Consumer<CompactTransaction> consumer) {
+        return forEachCompactTransaction(
+            consumer,
+            "/api/transactions?orderBy=timestamp:desc" +
+                "&limit={limit}" +
+                "&offset={offset}" +
+                "&recipientId={recipientId}",
+            limit,
+            offset,
+            recipientAddress
+        );
+    }
+
+    private int forEachTransaction(Consumer<Transaction> consumer, String path, Object... uriVariables) {
+        return readTransactions(callerCode -> new TransactionsResponseExtractor(
+            transaction -> callerCode.run(() -> consumer.accept(transaction))), path, uriVariables);
+    }
+
+    private int forEachCompactTransaction(Consumer<CompactTransaction> consumer, String path, Object... uriVariables) {
+        return readTransactions(callerCode -> TransactionsResponseExtractor.compact(
+            transaction -> callerCode.run(() -> consumer.accept(transaction))), path, uriVariables);
+    }
+
+    private int readTransactions(Function<PeerSelector.CallerCode, TransactionsResponseExtractor> extractorFactory,
+                                 String path, Object... uriVariables) {
+        return peerSelector.callStreaming((peer, callerCode) -> {
+            TransactionsResponseExtractor responseExtractor = extractorFactory.apply(callerCode);
+            Integer count = restTemplate.execute(
+                getPeerUrl(peer) + path,
                 HttpMethod.GET,
-                new HttpEntity<>(getApiHttpHeaders()),
-                TransactionsResponse.class,
-                limit,
-                offset,
-                recipientAddress
-            )
-            .getBody()
-            .getTransactions();
+                request -> request.getHeaders().putAll(getApiHttpHeaders()),
+                responseExtractor,
+                uriVariables
+            );
+            peerSelector.recordHeight(peer, responseExtractor.getMaxHeight());
+            return count;
+        });
     }
 
     @Override
     public Transaction getTransaction(String id) {
-        return restTemplate
-            .exchange(
-                getRandomTrustedPeerUrl() + "/api/transactions/get?id={id}",
-                HttpMethod.GET,
-                new HttpEntity<>(getApiHttpHeaders()),
-                new ParameterizedTypeReference<TransactionWrapper>() {},
-                id
-            ).getBody().getTransaction();
+        return readHedger.call(peer -> restTemplate
+                .exchange(
+                    getPeerUrl(peer) + "/api/transactions/get?id={id}",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    new ParameterizedTypeReference<TransactionWrapper>() {},
+                    id
+                ).getBody().getTransaction());
     }
 
-    // todo: support second passphrase signing
-    // todo: support different transaction types
     @Override
     public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes) {
-        Transfer transferBuilder = new Transfer();
-        transferBuilder.transaction.network = arkNetwork.getPubKeyHash();
-        org.arkecosystem.crypto.transactions.Transaction transaction = transferBuilder
-                .recipient(recipientId)
-                .amount(satoshiAmount)
-                .vendorField(vendorField)
-                .sign(passphrase)
-                .transaction;
-
-        JsonNode transactionJsonNode;
-        try {
-            transactionJsonNode = new ObjectMapper().readValue(transaction.toJson(), JsonNode.class);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to parse write transaction as json string", e);
-        }
+        return broadcastSignedTransaction(transactionSigner.sign(recipientId, satoshiAmount, vendorField, passphrase), nodes);
+    }
 
-        CreateArkV2TransactionsRequest requestBody = new CreateArkV2TransactionsRequest();
-        requestBody.setTransactions(Arrays.asList(transactionJsonNode));
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity, Integer nodes) {
+        return broadcastSignedTransaction(transactionSigner.sign(recipientId, satoshiAmount, vendorField, signingIdentity), nodes);
+    }
 
-        HttpEntity<CreateArkV2TransactionsRequest> requestEntity = new HttpEntity<>(requestBody, getV2P2pApiHttpHeaders());
+    private String broadcastSignedTransaction(ArkV2SignedTransaction transaction, Integer nodes) {
+        // Encoded once, every peer is sent the same bytes
+        byte[] requestBody = ArkV2SignedTransaction.createTransactionsRequestBody(Collections.singletonList(transaction));
+        HttpEntity<byte[]> requestEntity = new HttpEntity<>(requestBody, getV2P2pApiHttpHeaders());
 
-        // Broadcast transactions across n trusted peers or all peers if n > trusted peer count
-        List<Peer> targetPeers = new ArrayList<>(trustedPeers);
-        Collections.shuffle(targetPeers);
-        List<Peer> broadcastPeers = new ArrayList<>();
-        if (targetPeers.size() <= nodes) {
-            broadcastPeers.addAll(targetPeers);
-        } else {
-            for (int i = 0; i < nodes; i++) {
-                broadcastPeers.add(targetPeers.get(i));
-            }
-        }
+        List<Peer> broadcastPeers = peerSelector.selectBroadcastPeers(nodes);
         log.info("Broadcasting transaction to " + broadcastPeers.size() + " peers: "
             + StringUtils.join(broadcastPeers.stream().map(Peer::getIp).collect(Collectors.toList()), ", "));
 
-        List<String> transactionIds = Collections.synchronizedList(new ArrayList<>());
-        broadcastPeers.parallelStream()
-            .forEach(peer -> {
-                try {
-                    ResponseEntity<ArkV2CreateTransactionsResponse> result = restTemplate
-                            .exchange(
-                                    getPeerUrl(peer) + "/api/transactions",
-                                    HttpMethod.POST,
-                                    requestEntity,
-                                    ArkV2CreateTransactionsResponse.class
-                            );
-
-                    if (result.getBody().getData() != null && result.getBody().getData().getAccept() != null &&
-                            result.getBody().getData().getAccept().size() > 0) {
-                        transactionIds.addAll(result.getBody().getData().getAccept());
-                    } else {
-                        log.info("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getP2pPort()
-                                + ": rejected transaction");
-                    }
+        List<CompletableFuture<List<String>>> peerResults = broadcastExecutor.fanOut(broadcastPeers, peer -> {
+            try {
+                ResponseEntity<ArkV2CreateTransactionsResponse> result = peerSelector.call(peer, p -> restTemplate
+                        .exchange(
+                                getPeerUrl(p) + "/api/transactions",
+                                HttpMethod.POST,
+                                requestEntity,
+                                ArkV2CreateTransactionsResponse.class
+                        ));
 
-                } catch (RestClientResponseException re) {
-                    log.warn("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getP2pPort()
-                            + ": " + re.getMessage(), re);
-                    log.info("Response: " + re.getMessage());
-                } catch (Exception e) {
-                    log.warn("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getP2pPort()
-                        + ": " + e.getMessage(), e);
+                if (result.getBody().getData() != null && result.getBody().getData().getAccept() != null &&
+                        result.getBody().getData().getAccept().size() > 0) {
+                    metrics.recordBroadcast(getPeerName(peer), 1, 0);
+                    return result.getBody().getData().getAccept();
+                } else {
+                    metrics.recordBroadcast(getPeerName(peer), 0, 1);
+                    log.info("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getP2pPort()
+                            + ": rejected transaction");
                 }
-            });
 
-        if (transactionIds.size() > 0) {
-            // todo: return most common transaction id returned from nodes
-            return transactionIds.get(0);
-        } else {
-            throw new RuntimeException("Broadcast failed because no nodes accepted transaction");
+            } catch (RestClientResponseException re) {
+                metrics.recordBroadcast(getPeerName(peer), 0, 1);
+                log.warn("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getP2pPort()
+                        + ": " + re.getMessage(), re);
+                log.info("Response: " + re.getMessage());
+            } catch (Exception e) {
+                metrics.recordBroadcast(getPeerName(peer), 0, 1);
+                log.warn("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getP2pPort()
+                    + ": " + e.getMessage(), e);
+            }
+            return Collections.emptyList();
+        });
+
+        ArkNetworkBroadcastSettings broadcastSettings = arkNetwork.getBroadcastSettings();
+        try {
+            return new BroadcastQuorum(broadcastSettings.getQuorum(), broadcastSettings.getCancelRemaining())
+                .collect(peerResults)
+                .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new ArkClientException("Broadcast failed", e.getCause());
         }
     }
 
+    @Override
+    public List<TransferResult> broadcastTransactions(List<TransferSpec> transfers, Integer nodes) {
+        return new BatchBroadcaster<>(arkNetwork.getBroadcastSettings(), signingPipeline, broadcastExecutor, peerSelector, metrics)
+            .broadcast(transfers, nodes, transactions -> {
+                // Encoded once, every peer is sent the same bytes
+                byte[] requestBody = ArkV2SignedTransaction.createTransactionsRequestBody(transactions);
+                HttpEntity<byte[]> requestEntity = new HttpEntity<>(requestBody, getV2P2pApiHttpHeaders());
+
+                return peer -> {
+                    ArkV2CreateTransactionsResponse result = restTemplate
+                        .exchange(
+                            getPeerUrl(peer) + "/api/transactions",
+                            HttpMethod.POST,
+                            requestEntity,
+                            ArkV2CreateTransactionsResponse.class
+                        )
+                        .getBody();
+
+                    BatchBroadcaster.BatchResponse batchResponse = new BatchBroadcaster.BatchResponse(
+                        result.getData() != null ? result.getData().getAccept() : null);
+                    if (result.getErrors() != null) {
+                        result.getErrors().forEach((transactionId, errors) -> errors.forEach(error ->
+                            batchResponse.reject(transactionId, error.getType() + ": " + error.getMessage())));
+                    }
+                    if (result.getData() != null && result.getData().getInvalid() != null) {
+                        result.getData().getInvalid().forEach(transactionId -> batchResponse.reject(transactionId, "invalid transaction"));
+                    }
+                    return batchResponse;
+                };
+            });
+    }
+
     @Override
     public AccountBalance getBalance(String address) {
-        return restTemplate
-            .exchange(
-                getRandomTrustedPeerUrl() + "/api/accounts/getBalance?address={id}",
-                HttpMethod.GET,
-                new HttpEntity<>(getApiHttpHeaders()),
-                new ParameterizedTypeReference<AccountBalance>() {},
-                address
-            )
-            .getBody();
+        return readHedger.call(peer -> restTemplate
+                .exchange(
+                    getPeerUrl(peer) + "/api/accounts/getBalance?address={id}",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    new ParameterizedTypeReference<AccountBalance>() {},
+                    address
+                )
+                .getBody());
+    }
+
+    @Override
+    public Long getHeight() {
+        return peerSelector.call(peer -> {
+            Long height = restTemplate
+                .exchange(
+                    getPeerUrl(peer) + "/api/blocks/getHeight",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    BlockHeight.class
+                )
+                .getBody()
+                .getHeight();
+            peerSelector.recordHeight(peer, height);
+            return height;
+        });
     }
 
     @Override
     public String getAddress(String passphrase) {
-        return Address.fromPassphrase(passphrase, arkNetwork.getPubKeyHash());
+        return transactionSigner.getSigningIdentity(passphrase).getAddress();
+    }
+
+    @Override
+    public SigningIdentity createSigningIdentity(String passphrase) {
+        return transactionSigner.createSigningIdentity(passphrase);
+    }
+
+    /**
+     * Closes what the factory created for this client, other than a broadcast executor it was given.
+     */
+    @Override
+    public void close() {
+        Closeables.closeAll(resources);
     }
 
     private HttpHeaders getV2P2pApiHttpHeaders() {
@@ -182,17 +328,12 @@ public class HttpArkClient implements ArkClient {
         return headers;
     }
 
-    private Peer getRandomTrustedPeer() {
-        return trustedPeers.get(RandomUtils.nextInt(0, trustedPeers.size()));
-    }
-
-    private String getRandomTrustedPeerUrl() {
-        Peer peer = getRandomTrustedPeer();
-        return getPeerUrl(peer);
-    }
-
     private String getPeerUrl(Peer peer) {
         return arkNetwork.getHttpScheme() + "://" + peer.getIp() + ":" + peer.getApiPort();
     }
 
+    private String getPeerName(Peer peer) {
+        return peer.getIp() + ":" + peer.getApiPort();
+    }
+
 }
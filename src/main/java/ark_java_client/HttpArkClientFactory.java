@@ -1,11 +1,20 @@
 package ark_java_client;
 
 import ark_java_client.lib.NiceObjectMapper;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -15,13 +24,153 @@ public class HttpArkClientFactory {
     private static final Integer DEFAULT_P2P_PORT = 4001;
     private static final Integer DEFAULT_API_PORT = 4003;
 
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final HttpTransportFactory httpTransportFactory;
+    private final ArkClientMetrics metrics;
+
+    public HttpArkClientFactory() {
+        this(HttpTransportFactory.getDefault());
+    }
+
+    public HttpArkClientFactory(HttpTransportFactory httpTransportFactory) {
+        this(httpTransportFactory, NoopArkClientMetrics.INSTANCE);
+    }
+
+    public HttpArkClientFactory(HttpTransportFactory httpTransportFactory, ArkClientMetrics metrics) {
+        this.httpTransportFactory = httpTransportFactory;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates a client with its own broadcast executor. Close the client to stop its threads.
+     */
     public ArkClient create(ArkNetwork arkNetwork) {
-        // Set up http client with sensible timeout values
-        RestTemplate restTemplate = new RestTemplateBuilder()
-                .setConnectTimeout(3000)
-                .setReadTimeout(3000)
-                .build();
+        BroadcastExecutor broadcastExecutor = new BroadcastExecutor(arkNetwork.getBroadcastSettings());
+        List<AutoCloseable> resources = new ArrayList<>();
+        resources.add(broadcastExecutor);
+        return create(arkNetwork, broadcastExecutor, resources);
+    }
+
+    /**
+     * Creates a client that broadcasts on a shared executor. Closing the client leaves the executor running.
+     */
+    public ArkClient create(ArkNetwork arkNetwork, BroadcastExecutor broadcastExecutor) {
+        return create(arkNetwork, broadcastExecutor, new ArrayList<>());
+    }
+
+    private ArkClient create(ArkNetwork arkNetwork, BroadcastExecutor broadcastExecutor, List<AutoCloseable> resources) {
+        // The transport sets up connection pooling and timeouts
+        ArkNetworkHttpSettings httpSettings = arkNetwork.getHttpSettings();
+        ClientHttpRequestFactory requestFactory = httpTransportFactory.create(httpSettings);
+        addDisposable(resources, requestFactory);
+        RestTemplate restTemplate = createRestTemplate(requestFactory);
+        if (metrics.isEnabled()) {
+            restTemplate.getInterceptors().add(new MetricsHttpInterceptor(metrics));
+        }
+
+        List<Peer> trustedPeers = getTrustedPeers(arkNetwork);
+        PeerSelector peerSelector = new PeerSelector(trustedPeers, arkNetwork.getPeerSelectionSettings(),
+                arkNetwork.getConcurrencyLimitSettings());
+        if (Boolean.TRUE.equals(arkNetwork.getDiscoverySettings().getEnabled())) {
+            PeerDiscovery peerDiscovery = new PeerDiscovery(arkNetwork, restTemplate, trustedPeers, peerSelector);
+            resources.add(peerDiscovery);
+            peerDiscovery.start();
+        }
+
+        ReadHedger readHedger = new ReadHedger(peerSelector, arkNetwork.getHedgingSettings());
+        resources.add(readHedger);
+
+        ArkClient arkClient;
+        if (isV1Network(arkNetwork)) {
+            ArkV1TransactionSigner transactionSigner = new ArkV1TransactionSigner(arkNetwork, metrics);
+            SigningPipeline<CreateArkTransactionRequest> signingPipeline = new SigningPipeline<>(transactionSigner, arkNetwork.getSigningSettings());
+            resources.add(signingPipeline);
+            arkClient = new HttpArkV1Client(arkNetwork, restTemplate, peerSelector, readHedger, transactionSigner, broadcastExecutor, signingPipeline, metrics, resources);
+        } else {
+            ArkV2TransactionSigner transactionSigner = new ArkV2TransactionSigner(arkNetwork, metrics);
+            SigningPipeline<ArkV2SignedTransaction> signingPipeline = new SigningPipeline<>(transactionSigner, arkNetwork.getSigningSettings());
+            resources.add(signingPipeline);
+            arkClient = new HttpArkClient(arkNetwork, restTemplate, peerSelector, readHedger, transactionSigner, broadcastExecutor, signingPipeline, metrics, resources);
+        }
+        if (Boolean.TRUE.equals(httpSettings.getCoalesceReads())) {
+            arkClient = new CoalescingArkClient(arkClient);
+        }
+
+        ArkNetworkTransactionCacheSettings transactionCacheSettings = arkNetwork.getTransactionCacheSettings();
+        ArkNetworkBalanceCacheSettings balanceCacheSettings = arkNetwork.getBalanceCacheSettings();
+        boolean cacheTransactions = Boolean.TRUE.equals(transactionCacheSettings.getEnabled());
+        boolean cacheBalances = Boolean.TRUE.equals(balanceCacheSettings.getEnabled());
+        if (cacheTransactions || cacheBalances) {
+            BalanceCache balanceCache = null;
+            if (cacheBalances) {
+                HeightPoller heightPoller = new HeightPoller(arkClient, balanceCacheSettings.getHeightPollInterval());
+                balanceCache = new BalanceCache(heightPoller, balanceCacheSettings);
+            }
+            arkClient = new CachingArkClient(arkClient, cacheTransactions ? transactionCacheSettings : null, balanceCache);
+        }
+
+        // Outermost, so callers can cast to IndexedArkClient to sync addresses
+        ArkNetworkTransactionIndexSettings transactionIndexSettings = arkNetwork.getTransactionIndexSettings();
+        if (Boolean.TRUE.equals(transactionIndexSettings.getEnabled())) {
+            arkClient = new IndexedArkClient(arkClient, new TransactionStore(transactionIndexSettings), transactionIndexSettings);
+        }
+        return arkClient;
+    }
+
+    public AsyncArkClient createAsync(ArkNetwork arkNetwork) {
+        List<AutoCloseable> resources = new ArrayList<>();
+        // With the pooling transport, in-flight requests share a few I/O threads rather than holding one each
+        AsyncClientHttpRequestFactory asyncRequestFactory = httpTransportFactory.createAsync(arkNetwork.getHttpSettings());
+        addDisposable(resources, asyncRequestFactory);
+        AsyncRestTemplate asyncRestTemplate = new AsyncRestTemplate(asyncRequestFactory, new RestTemplate(getMessageConverters()));
+        if (metrics.isEnabled()) {
+            asyncRestTemplate.getInterceptors().add(new MetricsHttpInterceptor(metrics));
+        }
 
+        List<Peer> trustedPeers = getTrustedPeers(arkNetwork);
+        PeerSelector peerSelector = new PeerSelector(trustedPeers, arkNetwork.getPeerSelectionSettings(),
+                arkNetwork.getConcurrencyLimitSettings());
+        if (Boolean.TRUE.equals(arkNetwork.getDiscoverySettings().getEnabled())) {
+            ClientHttpRequestFactory requestFactory = httpTransportFactory.create(arkNetwork.getHttpSettings());
+            addDisposable(resources, requestFactory);
+            PeerDiscovery peerDiscovery = new PeerDiscovery(arkNetwork, createRestTemplate(requestFactory), trustedPeers, peerSelector);
+            resources.add(peerDiscovery);
+            peerDiscovery.start();
+        }
+
+        if (isV1Network(arkNetwork)) {
+            return new HttpAsyncArkV1Client(arkNetwork, asyncRestTemplate, peerSelector, new ArkV1TransactionSigner(arkNetwork, metrics), metrics, resources);
+        } else {
+            return new HttpAsyncArkClient(arkNetwork, asyncRestTemplate, peerSelector, new ArkV2TransactionSigner(arkNetwork, metrics), metrics, resources);
+        }
+    }
+
+    private void addDisposable(List<AutoCloseable> resources, Object requestFactory) {
+        // The pooling transports hold connection pools and I/O threads that are released on destroy
+        if (requestFactory instanceof DisposableBean) {
+            resources.add(((DisposableBean) requestFactory)::destroy);
+        }
+    }
+
+    private RestTemplate createRestTemplate(ClientHttpRequestFactory requestFactory) {
+        RestTemplate restTemplate = new RestTemplate(getMessageConverters());
+        restTemplate.setRequestFactory(requestFactory);
+        return restTemplate;
+    }
+
+    private List<HttpMessageConverter<?>> getMessageConverters() {
+        // Only what the clients exchange: json, and the pre-encoded bytes of V2 broadcasts. RestTemplate's
+        // defaults also probe for and set up xml, form and other converters, which is slow at startup.
+        List<HttpMessageConverter<?>> messageConverters = new ArrayList<>();
+        messageConverters.add(new ByteArrayHttpMessageConverter());
+        messageConverters.add(new StringHttpMessageConverter());
+        messageConverters.add(new MappingJackson2HttpMessageConverter(objectMapper));
+        return messageConverters;
+    }
+
+    private List<Peer> getTrustedPeers(ArkNetwork arkNetwork) {
         List<Peer> trustedPeers = arkNetwork.getTrustedPeerSettings().stream()
                 .map(trustedPeerSetting -> {
                     Peer peer = new Peer();
@@ -38,10 +187,14 @@ public class HttpArkClientFactory {
 
         log.info("Using Ark network trusted peers: " + new NiceObjectMapper(new ObjectMapper()).writeValueAsString(trustedPeers));
 
+        return trustedPeers;
+    }
+
+    private boolean isV1Network(ArkNetwork arkNetwork) {
         if (arkNetwork.getNetworkVersion() == null || arkNetwork.getNetworkVersion().equals("1")) {
-            return new HttpArkV1Client(arkNetwork, restTemplate, trustedPeers);
+            return true;
         } else if (arkNetwork.getNetworkVersion().equals("2")) {
-            return new HttpArkClient(arkNetwork, restTemplate, trustedPeers);
+            return false;
         } else {
             throw new IllegalArgumentException("Invalid value for Ark networkVersion, value values are: \"1\", \"2\"");
         }
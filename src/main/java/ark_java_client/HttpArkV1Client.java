@@ -1,24 +1,19 @@
 package ark_java_client;
 
-import com.google.common.io.BaseEncoding;
-import io.ark.core.Crypto;
+import ark_java_client.lib.Closeables;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.bitcoinj.core.Base58;
-import org.bitcoinj.core.ECKey;
-import org.bitcoinj.core.Sha256Hash;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -27,202 +22,292 @@ public class HttpArkV1Client implements ArkClient {
 
     private final ArkNetwork arkNetwork;
     private final RestTemplate restTemplate;
-    private final List<Peer> trustedPeers;
+    private final PeerSelector peerSelector;
+    private final ReadHedger readHedger;
+    private final ArkV1TransactionSigner transactionSigner;
+    private final BroadcastExecutor broadcastExecutor;
+    private final SigningPipeline<CreateArkTransactionRequest> signingPipeline;
+    private final ArkClientMetrics metrics;
+    private final List<AutoCloseable> resources;
 
     @Override
     public List<Transaction> getTransactions(Integer limit, Integer offset) {
-        return restTemplate
-                .exchange(
-                        getRandomTrustedPeerUrl() + "/api/transactions?orderBy=timestamp:desc" +
-                                "&limit={limit}" +
-                                "&offset={offset}",
-                        HttpMethod.GET,
-                        null,
-                        TransactionsResponse.class,
-                        limit,
-                        offset
-                )
-                .getBody()
-                .getTransactions();
+        return readHedger.call(peer -> {
+                List<Transaction> transactions = restTemplate
+                        .exchange(
+                                getPeerUrl(peer) + "/api/transactions?orderBy=timestamp:desc" +
+                                        "&limit={limit}" +
+                                        "&offset={offset}",
+                                HttpMethod.GET,
+                                null,
+                                TransactionsResponse.class,
+                                limit,
+                                offset
+                        )
+                        .getBody()
+                        .getTransactions();
+                peerSelector.recordHeight(peer, transactions);
+                return transactions;
+        });
     }
 
     @Override
     public List<Transaction> getTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset) {
-        return restTemplate
-                .exchange(
-                        getRandomTrustedPeerUrl() + "/api/transactions?orderBy=timestamp:desc" +
-                                "&limit={limit}" +
-                                "&offset={offset}" +
-                                "&recipientId={recipientId}",
-                        HttpMethod.GET,
-                        null,
-                        TransactionsResponse.class,
-                        limit,
-                        offset,
-                        recipientAddress
-                )
-                .getBody()
-                .getTransactions();
+        return readHedger.call(peer -> {
+                List<Transaction> transactions = restTemplate
+                        .exchange(
+                                getPeerUrl(peer) + "/api/transactions?orderBy=timestamp:desc" +
+                                        "&limit={limit}" +
+                                        "&offset={offset}" +
+                                        "&recipientId={recipientId}",
+                                HttpMethod.GET,
+                                null,
+                                TransactionsResponse.class,
+                                limit,
+                                offset,
+                                recipientAddress
+                        )
+                        .getBody()
+                        .getTransactions();
+                peerSelector.recordHeight(peer, transactions);
+                return transactions;
+        });
     }
 
     @Override
-    public Transaction getTransaction(String id) {
-        return restTemplate
-                .exchange(
-                        getRandomTrustedPeerUrl() + "/api/transactions/get?id={id}",
-                        HttpMethod.GET,
-                        null,
-                        new ParameterizedTypeReference<TransactionWrapper>() {},
-                        id
-                ).getBody().getTransaction();
+    public int forEachTransaction(Integer limit, Integer offset, Consumer<Transaction> consumer) {
+        return forEachTransaction(
+                consumer,
+                "/api/transactions?orderBy=timestamp:desc" +
+                        "&limit={limit}" +
+                        "&offset={offset}",
+                limit,
+                offset
+        );
     }
 
-    // todo: support second passphrase signing
-    // todo: support different transaction types
     @Override
-    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes) {
-        Date beginEpoch;
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-        try {
-            beginEpoch = dateFormat.parse(arkNetwork.getEpoch());
-        } catch (ParseException e) {
-            throw new RuntimeException("Failed to parse epoch start date");
-        }
-        long timestamp = (new Date().getTime() - beginEpoch.getTime()) / 1000L;
+    public int forEachTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                    Consumer<Transaction> consumer) {
+        return forEachTransaction(
+                consumer,
+                "/api/transactions?orderBy=timestamp:desc" +
+                        "&limit={limit}" +
+                        "&offset={offset}" +
+                        "&recipientId={recipientId}",
+                limit,
+                offset,
+                recipientAddress
+        );
+    }
+
+    @Override
+    public int forEachCompactTransaction(Integer limit, Integer offset, Consumer<CompactTransaction> consumer) {
+        return forEachCompactTransaction(
+                consumer,
+                "/api/transactions?orderBy=timestamp:desc" +
+                        "&limit={limit}" +
+                        "&offset={offset}",
+                limit,
+                offset
+        );
+    }
+
+    @Override
+    public int forEachCompactTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                           Consumer<CompactTransaction> consumer) {
+        return forEachCompactTransaction(
+                consumer,
+                "/api/transactions?orderBy=timestamp:desc" +
+                        "&limit={limit}" +
+                        "&offset={offset}" +
+                        "&recipientId={recipientId}",
+                limit,
+                offset,
+                recipientAddress
+        );
+    }
 
-        CreateArkTransactionRequest createArkTransactionRequest = new CreateArkTransactionRequest();
-        createArkTransactionRequest.setType((byte) 0);
-        createArkTransactionRequest.setRecipientId(recipientId);
-        createArkTransactionRequest.setFee(10000000L);
-        createArkTransactionRequest.setVendorField(vendorField);
-        createArkTransactionRequest.setTimestamp(timestamp);
-        createArkTransactionRequest.setAmount(satoshiAmount);
+    private int forEachTransaction(Consumer<Transaction> consumer, String path, Object... uriVariables) {
+        return readTransactions(callerCode -> new TransactionsResponseExtractor(
+                transaction -> callerCode.run(() -> consumer.accept(transaction))), path, uriVariables);
+    }
 
-        // sign transaction
-        String senderPublicKey = BaseEncoding.base16().lowerCase().encode(Crypto.getKeys(passphrase).getPubKey());
-        createArkTransactionRequest.setSenderPublicKey(senderPublicKey);
+    private int forEachCompactTransaction(Consumer<CompactTransaction> consumer, String path, Object... uriVariables) {
+        return readTransactions(callerCode -> TransactionsResponseExtractor.compact(
+                transaction -> callerCode.run(() -> consumer.accept(transaction))), path, uriVariables);
+    }
 
-        byte[] transactionBytes = getBytes(createArkTransactionRequest, senderPublicKey);
-        ECKey.ECDSASignature signature = Crypto.signBytes(transactionBytes, passphrase);
-        String signatureEncoded = BaseEncoding.base16().lowerCase().encode(signature.encodeToDER());
+    private int readTransactions(Function<PeerSelector.CallerCode, TransactionsResponseExtractor> extractorFactory,
+                                 String path, Object... uriVariables) {
+        return peerSelector.callStreaming((peer, callerCode) -> {
+                TransactionsResponseExtractor responseExtractor = extractorFactory.apply(callerCode);
+                Integer count = restTemplate.execute(
+                        getPeerUrl(peer) + path,
+                        HttpMethod.GET,
+                        null,
+                        responseExtractor,
+                        uriVariables
+                );
+                peerSelector.recordHeight(peer, responseExtractor.getMaxHeight());
+                return count;
+        });
+    }
 
-        createArkTransactionRequest.setSignature(signatureEncoded);
+    @Override
+    public Transaction getTransaction(String id) {
+        return readHedger.call(peer -> restTemplate
+                        .exchange(
+                                getPeerUrl(peer) + "/api/transactions/get?id={id}",
+                                HttpMethod.GET,
+                                null,
+                                new ParameterizedTypeReference<TransactionWrapper>() {},
+                                id
+                        ).getBody().getTransaction());
+    }
 
-        String id = BaseEncoding.base16().lowerCase().encode(Sha256Hash.hash(transactionBytes));
-        createArkTransactionRequest.setId(id);
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes) {
+        return broadcastSignedTransaction(transactionSigner.sign(recipientId, satoshiAmount, vendorField, passphrase), nodes);
+    }
+
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity, Integer nodes) {
+        return broadcastSignedTransaction(transactionSigner.sign(recipientId, satoshiAmount, vendorField, signingIdentity), nodes);
+    }
 
+    private String broadcastSignedTransaction(CreateArkTransactionRequest createArkTransactionRequest, Integer nodes) {
         CreateArkTransactionsRequest createArkTransactionsRequest = new CreateArkTransactionsRequest();
         createArkTransactionsRequest.setTransactions(Arrays.asList(createArkTransactionRequest));
 
-        // Broadcast transactions across all known peers in parallel
-        List<Peer> targetPeers = new ArrayList<>(trustedPeers);
-        Collections.shuffle(targetPeers);
-        List<Peer> broadcastPeers = new ArrayList<>();
-        if (targetPeers.size() <= nodes) {
-            broadcastPeers.addAll(targetPeers);
-        } else {
-            for (int i = 0; i < nodes; i++) {
-                broadcastPeers.add(targetPeers.get(i));
-            }
-        }
+        List<Peer> broadcastPeers = peerSelector.selectBroadcastPeers(nodes);
         log.info("Broadcasting transaction to " + broadcastPeers.size() + " peers: "
                 + StringUtils.join(broadcastPeers.stream().map(Peer::getIp).collect(Collectors.toList()), ", "));
 
-        List<String> transactionIds = Collections.synchronizedList(new ArrayList<>());
-        targetPeers
-                .parallelStream()
-                .forEach(peer -> {
-                    try {
-                        HttpHeaders headers = getHttpHeaders(peer);
-                        HttpEntity<CreateArkTransactionsRequest> requestEntity = new HttpEntity<>(createArkTransactionsRequest, headers);
+        List<CompletableFuture<List<String>>> peerResults = broadcastExecutor.fanOut(broadcastPeers, peer -> {
+            try {
+                HttpHeaders headers = getHttpHeaders(peer);
+                HttpEntity<CreateArkTransactionsRequest> requestEntity = new HttpEntity<>(createArkTransactionsRequest, headers);
+
+                ResponseEntity<TransactionIdsWrapper> result = peerSelector.call(peer, p -> restTemplate
+                        .exchange(
+                                getPeerUrl(p) + "/peer/transactions",
+                                HttpMethod.POST,
+                                requestEntity,
+                                new ParameterizedTypeReference<TransactionIdsWrapper>() {
+                                }
+                        ));
+
+                if (result.getBody().getTransactionIds() != null && result.getBody().getTransactionIds().size() > 0) {
+                    metrics.recordBroadcast(getPeerName(peer), 1, 0);
+                    return result.getBody().getTransactionIds();
+                } else {
+                    metrics.recordBroadcast(getPeerName(peer), 0, 1);
+                    log.info("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getApiPort()
+                            + ": rejected transaction");
+                }
+
+            } catch (RestClientResponseException re) {
+                metrics.recordBroadcast(getPeerName(peer), 0, 1);
+                log.info("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getApiPort()
+                        + ": " + re.getMessage(), re);
+                log.info("Response: " + re.getMessage());
+            } catch (Exception e) {
+                metrics.recordBroadcast(getPeerName(peer), 0, 1);
+                log.info("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getApiPort()
+                        + ": " + e.getMessage(), e);
+            }
+            return Collections.emptyList();
+        });
+
+        ArkNetworkBroadcastSettings broadcastSettings = arkNetwork.getBroadcastSettings();
+        try {
+            return new BroadcastQuorum(broadcastSettings.getQuorum(), broadcastSettings.getCancelRemaining())
+                    .collect(peerResults)
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new ArkClientException("Broadcast failed", e.getCause());
+        }
+    }
+
+    @Override
+    public List<TransferResult> broadcastTransactions(List<TransferSpec> transfers, Integer nodes) {
+        return new BatchBroadcaster<>(arkNetwork.getBroadcastSettings(), signingPipeline, broadcastExecutor, peerSelector, metrics)
+                .broadcast(transfers, nodes, transactions -> {
+                    CreateArkTransactionsRequest createArkTransactionsRequest = new CreateArkTransactionsRequest();
+                    createArkTransactionsRequest.setTransactions(transactions);
+
+                    return peer -> {
+                        HttpEntity<CreateArkTransactionsRequest> requestEntity = new HttpEntity<>(createArkTransactionsRequest, getHttpHeaders(peer));
 
-                        ResponseEntity<TransactionIdsWrapper> result = restTemplate
+                        TransactionIdsWrapper result = restTemplate
                                 .exchange(
                                         getPeerUrl(peer) + "/peer/transactions",
                                         HttpMethod.POST,
                                         requestEntity,
                                         new ParameterizedTypeReference<TransactionIdsWrapper>() {
                                         }
-                                );
-
-                        if (result.getBody().getTransactionIds() != null && result.getBody().getTransactionIds().size() > 0) {
-                            transactionIds.addAll(result.getBody().getTransactionIds());
-                        } else {
-                            log.info("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getApiPort()
-                                    + ": rejected transaction");
-                        }
-
-                    } catch (RestClientResponseException re) {
-                        log.info("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getApiPort()
-                                + ": " + re.getMessage(), re);
-                        log.info("Response: " + re.getMessage());
-                    } catch (Exception e) {
-                        log.info("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getApiPort()
-                                + ": " + e.getMessage(), e);
-                    }
-                });
+                                )
+                                .getBody();
 
-        if (transactionIds.size() > 0) {
-            // todo: return most common transaction id returned from nodes
-            String bestTransactionId = transactionIds.get(0);
-            return bestTransactionId;
-        } else {
-            throw new RuntimeException("Broadcast failed because no nodes accepted transaction");
-        }
+                        // V1 peers only list accepted ids, anything missing was rejected
+                        return new BatchBroadcaster.BatchResponse(result.getTransactionIds());
+                    };
+                });
     }
 
     @Override
     public AccountBalance getBalance(String address) {
-        return restTemplate
-                .exchange(
-                        getRandomTrustedPeerUrl() + "/api/accounts/getBalance?address={id}",
-                        HttpMethod.GET,
-                        null,
-                        new ParameterizedTypeReference<AccountBalance>() {},
-                        address
-                )
-                .getBody();
+        return readHedger.call(peer -> restTemplate
+                        .exchange(
+                                getPeerUrl(peer) + "/api/accounts/getBalance?address={id}",
+                                HttpMethod.GET,
+                                null,
+                                new ParameterizedTypeReference<AccountBalance>() {},
+                                address
+                        )
+                        .getBody());
     }
 
     @Override
-    public String getAddress(String passphrase) {
-        Crypto.setNetworkVersion(arkNetwork.getPubKeyHash());
-        return Crypto.getAddress(Crypto.getKeys(passphrase));
+    public Long getHeight() {
+        return peerSelector.call(peer -> {
+                Long height = restTemplate
+                        .exchange(
+                                getPeerUrl(peer) + "/api/blocks/getHeight",
+                                HttpMethod.GET,
+                                null,
+                                BlockHeight.class
+                        )
+                        .getBody()
+                        .getHeight();
+                peerSelector.recordHeight(peer, height);
+                return height;
+        });
     }
 
-    private byte[] getBytes(CreateArkTransactionRequest createArkTransactionRequest, String senderPublicKey) {
-        ByteBuffer buffer = ByteBuffer.allocate(1000);
-        buffer.order(ByteOrder.LITTLE_ENDIAN);
-
-        buffer.put(createArkTransactionRequest.getType());
-        buffer.putInt((int) createArkTransactionRequest.getTimestamp()); // todo: fix downcast
-        buffer.put(BaseEncoding.base16().lowerCase().decode(senderPublicKey));
-
-        if(createArkTransactionRequest.getRecipientId() != null){
-            buffer.put(Base58.decodeChecked(createArkTransactionRequest.getRecipientId()));
-        } else {
-            buffer.put(new byte[21]);
-        }
-
-        if (createArkTransactionRequest.getVendorField() != null) {
-            byte[] vbytes = createArkTransactionRequest.getVendorField().getBytes();
-            if(vbytes.length < 65){
-                buffer.put(vbytes);
-                buffer.put(new byte[64-vbytes.length]);
-            }
-        } else {
-            buffer.put(new byte[64]);
-        }
-
-        buffer.putLong(createArkTransactionRequest.getAmount());
-        buffer.putLong(createArkTransactionRequest.getFee());
+    @Override
+    public String getAddress(String passphrase) {
+        return transactionSigner.getSigningIdentity(passphrase).getAddress();
+    }
 
-        byte[] outBuffer = new byte[buffer.position()];
-        buffer.rewind();
-        buffer.get(outBuffer);
+    @Override
+    public SigningIdentity createSigningIdentity(String passphrase) {
+        return transactionSigner.createSigningIdentity(passphrase);
+    }
 
-        return outBuffer;
+    /**
+     * Closes what the factory created for this client, other than a broadcast executor it was given.
+     */
+    @Override
+    public void close() {
+        Closeables.closeAll(resources);
     }
 
     private HttpHeaders getHttpHeaders(Peer peer) {
@@ -234,16 +319,12 @@ public class HttpArkV1Client implements ArkClient {
         return headers;
     }
 
-    private Peer getRandomTrustedPeer() {
-        return trustedPeers.get(RandomUtils.nextInt(0, trustedPeers.size()));
-    }
-
-    private String getRandomTrustedPeerUrl() {
-        return getPeerUrl(getRandomTrustedPeer());
-    }
-
     private String getPeerUrl(Peer peer) {
         return arkNetwork.getHttpScheme() + "://" + peer.getIp() + ":" + peer.getApiPort();
     }
 
+    private String getPeerName(Peer peer) {
+        return peer.getIp() + ":" + peer.getApiPort();
+    }
+
 }
@@ -0,0 +1,209 @@
+package ark_java_client;
+
+import ark_java_client.lib.Closeables;
+import ark_java_client.lib.CompletableFutures;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.web.client.AsyncRestTemplate;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Slf4j
+public class HttpAsyncArkClient implements AsyncArkClient {
+
+    private final ArkNetwork arkNetwork;
+    private final AsyncRestTemplate asyncRestTemplate;
+    private final PeerSelector peerSelector;
+    private final ArkV2TransactionSigner transactionSigner;
+    private final ArkClientMetrics metrics;
+    private final List<AutoCloseable> resources;
+
+    @Override
+    public CompletableFuture<List<Transaction>> getTransactions(Integer limit, Integer offset) {
+        return peerSelector.callAsync(peer -> CompletableFutures
+                .fromListenableFuture(asyncRestTemplate.exchange(
+                    getPeerUrl(peer) + "/api/transactions?orderBy=timestamp:desc" +
+                        "&limit={limit}" +
+                        "&offset={offset}",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    TransactionsResponse.class,
+                    limit,
+                    offset
+                ))
+                .thenApply(response -> {
+                    List<Transaction> transactions = response.getBody().getTransactions();
+                    peerSelector.recordHeight(peer, transactions);
+                    return transactions;
+                }));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset) {
+        return peerSelector.callAsync(peer -> CompletableFutures
+                .fromListenableFuture(asyncRestTemplate.exchange(
+                    getPeerUrl(peer) + "/api/transactions?orderBy=timestamp:desc" +
+                        "&limit={limit}" +
+                        "&offset={offset}" +
+                        "&recipientId={recipientId}",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    TransactionsResponse.class,
+                    limit,
+                    offset,
+                    recipientAddress
+                ))
+                .thenApply(response -> {
+                    List<Transaction> transactions = response.getBody().getTransactions();
+                    peerSelector.recordHeight(peer, transactions);
+                    return transactions;
+                }));
+    }
+
+    @Override
+    public CompletableFuture<Transaction> getTransaction(String id) {
+        return peerSelector.callAsync(peer -> CompletableFutures
+                .fromListenableFuture(asyncRestTemplate.exchange(
+                    getPeerUrl(peer) + "/api/transactions/get?id={id}",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    new ParameterizedTypeReference<TransactionWrapper>() {},
+                    id
+                ))
+                .thenApply(response -> response.getBody().getTransaction()));
+    }
+
+    @Override
+    public CompletableFuture<String> broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes) {
+        return broadcastSignedTransaction(transactionSigner.sign(recipientId, satoshiAmount, vendorField, passphrase), nodes);
+    }
+
+    @Override
+    public CompletableFuture<String> broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity, Integer nodes) {
+        return broadcastSignedTransaction(transactionSigner.sign(recipientId, satoshiAmount, vendorField, signingIdentity), nodes);
+    }
+
+    private CompletableFuture<String> broadcastSignedTransaction(ArkV2SignedTransaction transaction, Integer nodes) {
+        // Encoded once, every peer is sent the same bytes
+        byte[] requestBody = ArkV2SignedTransaction.createTransactionsRequestBody(Collections.singletonList(transaction));
+        HttpEntity<byte[]> requestEntity = new HttpEntity<>(requestBody, getV2P2pApiHttpHeaders());
+
+        List<Peer> broadcastPeers = peerSelector.selectBroadcastPeers(nodes);
+        log.info("Broadcasting transaction to " + broadcastPeers.size() + " peers: "
+            + StringUtils.join(broadcastPeers.stream().map(Peer::getIp).collect(Collectors.toList()), ", "));
+
+        List<CompletableFuture<List<String>>> peerResults = broadcastPeers.stream()
+            .map(peer -> {
+                CompletableFuture<ResponseEntity<ArkV2CreateTransactionsResponse>> request = peerSelector.callAsync(peer, p -> CompletableFutures
+                    .fromListenableFuture(asyncRestTemplate.exchange(
+                        getPeerUrl(p) + "/api/transactions",
+                        HttpMethod.POST,
+                        requestEntity,
+                        ArkV2CreateTransactionsResponse.class
+                    )));
+                CompletableFuture<List<String>> peerResult = request
+                    .thenApply(result -> {
+                        if (result.getBody().getData() != null && result.getBody().getData().getAccept() != null &&
+                                result.getBody().getData().getAccept().size() > 0) {
+                            metrics.recordBroadcast(getPeerName(peer), 1, 0);
+                            return result.getBody().getData().getAccept();
+                        }
+                        metrics.recordBroadcast(getPeerName(peer), 0, 1);
+                        log.info("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getP2pPort()
+                                + ": rejected transaction");
+                        return Collections.<String>emptyList();
+                    })
+                    .exceptionally(e -> {
+                        // Requests cancelled once the quorum is reached were not rejected
+                        if (!(e instanceof CancellationException || e.getCause() instanceof CancellationException)) {
+                            metrics.recordBroadcast(getPeerName(peer), 0, 1);
+                        }
+                        log.warn("Failed to broadcast transaction to node " + peer.getIp() + ":" + peer.getP2pPort()
+                                + ": " + e.getMessage(), e);
+                        return Collections.emptyList();
+                    });
+                return CompletableFutures.cancelWith(peerResult, request);
+            })
+            .collect(Collectors.toList());
+
+        ArkNetworkBroadcastSettings broadcastSettings = arkNetwork.getBroadcastSettings();
+        return new BroadcastQuorum(broadcastSettings.getQuorum(), broadcastSettings.getCancelRemaining())
+            .collect(peerResults);
+    }
+
+    @Override
+    public CompletableFuture<AccountBalance> getBalance(String address) {
+        return peerSelector.callAsync(peer -> CompletableFutures
+                .fromListenableFuture(asyncRestTemplate.exchange(
+                    getPeerUrl(peer) + "/api/accounts/getBalance?address={id}",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    new ParameterizedTypeReference<AccountBalance>() {},
+                    address
+                ))
+                .thenApply(HttpEntity::getBody));
+    }
+
+    @Override
+    public CompletableFuture<Long> getHeight() {
+        return peerSelector.callAsync(peer -> CompletableFutures
+                .fromListenableFuture(asyncRestTemplate.exchange(
+                    getPeerUrl(peer) + "/api/blocks/getHeight",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    BlockHeight.class
+                ))
+                .thenApply(response -> {
+                    Long height = response.getBody().getHeight();
+                    peerSelector.recordHeight(peer, height);
+                    return height;
+                }));
+    }
+
+    @Override
+    public String getAddress(String passphrase) {
+        return transactionSigner.getSigningIdentity(passphrase).getAddress();
+    }
+
+    @Override
+    public SigningIdentity createSigningIdentity(String passphrase) {
+        return transactionSigner.createSigningIdentity(passphrase);
+    }
+
+    /**
+     * Closes what the factory created for this client.
+     */
+    @Override
+    public void close() {
+        Closeables.closeAll(resources);
+    }
+
+    private HttpHeaders getV2P2pApiHttpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+        headers.set("API-Version", "2");
+        return headers;
+    }
+
+    private HttpHeaders getApiHttpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("API-Version", "1");
+        return headers;
+    }
+
+    private String getPeerUrl(Peer peer) {
+        return arkNetwork.getHttpScheme() + "://" + peer.getIp() + ":" + peer.getApiPort();
+    }
+
+    private String getPeerName(Peer peer) {
+        return peer.getIp() + ":" + peer.getApiPort();
+    }
+
+}
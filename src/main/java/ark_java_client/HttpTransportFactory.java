@@ -0,0 +1,27 @@
+package ark_java_client;
+
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Creates the http transports the clients send requests over. {@link PoolingHttpTransportFactory}
+ * needs Apache HttpClient on the classpath, {@link JdkHttpTransportFactory} needs nothing extra.
+ * Transports are Spring request factories, since the clients send requests through {@code RestTemplate}.
+ */
+public interface HttpTransportFactory {
+    ClientHttpRequestFactory create(ArkNetworkHttpSettings httpSettings);
+    AsyncClientHttpRequestFactory createAsync(ArkNetworkHttpSettings httpSettings);
+
+    /**
+     * The pooling transport if Apache HttpClient and HttpAsyncClient are on the classpath, otherwise the JDK one.
+     */
+    static HttpTransportFactory getDefault() {
+        ClassLoader classLoader = HttpTransportFactory.class.getClassLoader();
+        if (ClassUtils.isPresent("org.apache.http.impl.client.HttpClients", classLoader)
+                && ClassUtils.isPresent("org.apache.http.impl.nio.client.HttpAsyncClients", classLoader)) {
+            return new PoolingHttpTransportFactory();
+        }
+        return new JdkHttpTransportFactory();
+    }
+}
@@ -0,0 +1,280 @@
+package ark_java_client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serves transaction history of synced addresses from a local {@link TransactionStore} instead of
+ * the network. Only transactions with enough confirmations to be final are indexed. The newer ones
+ * a {@link #sync(String)} reads are kept in memory as the address's head and merged in, so history
+ * reads make no network calls and are as current as the last sync. Synced addresses are synced
+ * again every {@code syncInterval} milliseconds.
+ */
+@Slf4j
+public class IndexedArkClient implements ArkClient {
+
+    private static final Comparator<Transaction> NEWEST_FIRST =
+        Comparator.comparing(Transaction::getTimestamp, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final ArkClient arkClient;
+    private final TransactionStore transactionStore;
+    private final int minConfirmations;
+    private final int syncOverlap;
+    private final Map<String, List<Transaction>> heads = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public IndexedArkClient(ArkClient arkClient, TransactionStore transactionStore,
+                            ArkNetworkTransactionIndexSettings transactionIndexSettings) {
+        this.arkClient = arkClient;
+        this.transactionStore = transactionStore;
+        this.minConfirmations = transactionIndexSettings.getMinConfirmations();
+        this.syncOverlap = transactionIndexSettings.getSyncOverlap();
+
+        Integer syncInterval = transactionIndexSettings.getSyncInterval();
+        if (syncInterval != null && syncInterval > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ark-index-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::syncAll, 0, syncInterval, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * The wrapped client, which answers everything the index can't.
+     */
+    public ArkClient getArkClient() {
+        return arkClient;
+    }
+
+    /**
+     * Indexes final transactions to the address that arrived since it was last synced, keeps the newer
+     * ones as the address's head, and returns how many were indexed.
+     */
+    public synchronized int sync(String recipientAddress) {
+        long chainHeight = arkClient.getHeight();
+        long finalHeight = chainHeight - minConfirmations + 1;
+        Long syncedHeight = transactionStore.getSyncedHeight(recipientAddress);
+
+        int added = 0;
+        List<Transaction> head = new ArrayList<>();
+        try (Stream<Transaction> transactions = arkClient.streamTransactionsByRecipientAddress(recipientAddress)) {
+            for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+                if (isBelowSyncOverlap(transaction, syncedHeight)) {
+                    break;
+                }
+                if (transaction.getHeight() == null || transaction.getHeight() > finalHeight) {
+                    head.add(transaction);
+                    continue;
+                }
+                if (!transactionStore.contains(transaction.getId())) {
+                    transactionStore.append(transaction);
+                    added++;
+                }
+            }
+        }
+
+        transactionStore.setSyncedHeight(recipientAddress, finalHeight, chainHeight);
+        head.sort(NEWEST_FIRST);
+        heads.put(recipientAddress, Collections.unmodifiableList(head));
+        if (added > 0) {
+            log.info("Indexed " + added + " transactions to " + recipientAddress + " up to height " + finalHeight);
+        }
+        return added;
+    }
+
+    public boolean isSynced(String recipientAddress) {
+        return transactionStore.getSyncedHeight(recipientAddress) != null;
+    }
+
+    public List<Transaction> getTransactionsBySenderAddress(String senderAddress) {
+        return sortNewestFirst(transactionStore.getBySender(senderAddress).stream());
+    }
+
+    public List<Transaction> getTransactionsByHeight(int fromHeight, int toHeight) {
+        return sortNewestFirst(transactionStore.getByHeight(fromHeight, toHeight).stream());
+    }
+
+    @Override
+    public List<Transaction> getTransactions(Integer limit, Integer offset) {
+        return arkClient.getTransactions(limit, offset);
+    }
+
+    @Override
+    public List<Transaction> getTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset) {
+        Long syncedHeight = transactionStore.getSyncedHeight(recipientAddress);
+        if (syncedHeight == null) {
+            return arkClient.getTransactionByRecipientAddress(recipientAddress, limit, offset);
+        }
+        int skip = offset != null ? offset : 0;
+
+        // Place each head transaction in the merged history: after the head transactions before it and the
+        // indexed ones with a newer timestamp. The rest of the page is read straight from the index.
+        List<Transaction> head = heads.getOrDefault(recipientAddress, Collections.emptyList());
+        List<Transaction> page = new ArrayList<>();
+        int headBeforePage = 0;
+        int headIndex = 0;
+        for (Transaction transaction : head) {
+            if (transactionStore.contains(transaction.getId())) {
+                // Indexed by a sync since the head was read
+                continue;
+            }
+            int position = headIndex++ + transactionStore.countByRecipientNewerThan(recipientAddress, transaction.getTimestamp());
+            if (position < skip) {
+                headBeforePage++;
+            } else if (limit == null || position < skip + limit) {
+                page.add(withConfirmations(transaction.copy()));
+            }
+        }
+        Integer indexedLimit = limit != null ? limit - page.size() : null;
+        transactionStore.getByRecipient(recipientAddress, skip - headBeforePage, indexedLimit).stream()
+            .map(this::withConfirmations)
+            .forEach(page::add);
+
+        // Stable, so a head transaction stays ahead of an indexed one with the same timestamp
+        page.sort(NEWEST_FIRST);
+        return page;
+    }
+
+    @Override
+    public int forEachTransaction(Integer limit, Integer offset, Consumer<Transaction> consumer) {
+        return arkClient.forEachTransaction(limit, offset, consumer);
+    }
+
+    @Override
+    public int forEachTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                    Consumer<Transaction> consumer) {
+        if (!isSynced(recipientAddress)) {
+            return arkClient.forEachTransactionByRecipientAddress(recipientAddress, limit, offset, consumer);
+        }
+        List<Transaction> transactions = getTransactionByRecipientAddress(recipientAddress, limit, offset);
+        transactions.forEach(consumer);
+        return transactions.size();
+    }
+
+    @Override
+    public int forEachCompactTransaction(Integer limit, Integer offset, Consumer<CompactTransaction> consumer) {
+        return arkClient.forEachCompactTransaction(limit, offset, consumer);
+    }
+
+    @Override
+    public int forEachCompactTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset,
+                                                           Consumer<CompactTransaction> consumer) {
+        if (!isSynced(recipientAddress)) {
+            return arkClient.forEachCompactTransactionByRecipientAddress(recipientAddress, limit, offset, consumer);
+        }
+        List<Transaction> transactions = getTransactionByRecipientAddress(recipientAddress, limit, offset);
+        transactions.forEach(transaction -> consumer.accept(CompactTransaction.of(transaction)));
+        return transactions.size();
+    }
+
+    @Override
+    public Transaction getTransaction(String arkTransactionId) {
+        Transaction transaction = transactionStore.get(arkTransactionId);
+        if (transaction != null) {
+            return withConfirmations(transaction);
+        }
+        return arkClient.getTransaction(arkTransactionId);
+    }
+
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes) {
+        return arkClient.broadcastTransaction(recipientId, satoshiAmount, vendorField, passphrase, nodes);
+    }
+
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity, Integer nodes) {
+        return arkClient.broadcastTransaction(recipientId, satoshiAmount, vendorField, signingIdentity, nodes);
+    }
+
+    @Override
+    public List<TransferResult> broadcastTransactions(List<TransferSpec> transfers, Integer nodes) {
+        return arkClient.broadcastTransactions(transfers, nodes);
+    }
+
+    @Override
+    public AccountBalance getBalance(String address) {
+        return arkClient.getBalance(address);
+    }
+
+    @Override
+    public AccountBalance getBalance(String address, long maxAge) {
+        return arkClient.getBalance(address, maxAge);
+    }
+
+    @Override
+    public Long getHeight() {
+        return arkClient.getHeight();
+    }
+
+    @Override
+    public String getAddress(String passphrase) {
+        return arkClient.getAddress(passphrase);
+    }
+
+    @Override
+    public SigningIdentity createSigningIdentity(String passphrase) {
+        return arkClient.createSigningIdentity(passphrase);
+    }
+
+    /**
+     * Stops syncing and closes the transaction store, then the wrapped client.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        transactionStore.close();
+        arkClient.close();
+    }
+
+    private void syncAll() {
+        for (String address : transactionStore.getSyncedAddresses()) {
+            try {
+                sync(address);
+            } catch (RuntimeException e) {
+                log.warn("Failed to sync transaction index for " + address + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private List<Transaction> sortNewestFirst(Stream<Transaction> transactions) {
+        return transactions
+            .map(this::withConfirmations)
+            .sorted(NEWEST_FIRST)
+            .collect(Collectors.toList());
+    }
+
+    private boolean isBelowSyncOverlap(Transaction transaction, Long syncedHeight) {
+        // History is ordered by timestamp, and a transaction can be confirmed long after it was signed.
+        // Far enough below the synced height, nothing older can have been confirmed above it.
+        return syncedHeight != null && transaction.getHeight() != null
+            && transaction.getHeight() <= syncedHeight - syncOverlap;
+    }
+
+    private Transaction withConfirmations(Transaction transaction) {
+        // Stored confirmations are as of indexing, bring them up to the height of the last sync
+        Long chainHeight = transactionStore.getChainHeight();
+        if (chainHeight != null && transaction.getHeight() != null) {
+            transaction.setConfirmations((int) (chainHeight - transaction.getHeight() + 1));
+        }
+        return transaction;
+    }
+
+}
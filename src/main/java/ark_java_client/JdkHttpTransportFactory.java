@@ -0,0 +1,39 @@
+package ark_java_client;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * Transports on the JDK's {@code HttpURLConnection}, for when Apache HttpClient isn't on the
+ * classpath. They start quickly and need no extra jars, but keep-alive is left to the JDK's own
+ * connection cache, so the pool settings other than the timeouts don't apply. Async requests each
+ * block a thread, limited to {@code maxConnectionsTotal} at a time.
+ */
+public class JdkHttpTransportFactory implements HttpTransportFactory {
+
+    @Override
+    public ClientHttpRequestFactory create(ArkNetworkHttpSettings httpSettings) {
+        return createRequestFactory(httpSettings);
+    }
+
+    @Override
+    public AsyncClientHttpRequestFactory createAsync(ArkNetworkHttpSettings httpSettings) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("ark-http-");
+        taskExecutor.setDaemon(true);
+        taskExecutor.setConcurrencyLimit(httpSettings.getMaxConnectionsTotal());
+
+        SimpleClientHttpRequestFactory requestFactory = createRequestFactory(httpSettings);
+        requestFactory.setTaskExecutor(taskExecutor);
+        return requestFactory;
+    }
+
+    private SimpleClientHttpRequestFactory createRequestFactory(ArkNetworkHttpSettings httpSettings) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(httpSettings.getConnectTimeout());
+        requestFactory.setReadTimeout(httpSettings.getReadTimeout());
+        return requestFactory;
+    }
+
+}
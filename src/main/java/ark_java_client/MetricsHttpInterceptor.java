@@ -0,0 +1,79 @@
+package ark_java_client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.*;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+
+/**
+ * Times every request to a peer, up to the response headers, and reports it to
+ * {@link ArkClientMetrics}. Responses with an error status count as errors.
+ */
+public class MetricsHttpInterceptor implements ClientHttpRequestInterceptor, AsyncClientHttpRequestInterceptor {
+
+    private final ArkClientMetrics metrics;
+
+    public MetricsHttpInterceptor(ArkClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            record(request, start, getOutcome(response));
+            return response;
+        } catch (IOException | RuntimeException e) {
+            record(request, start, getOutcome(e));
+            throw e;
+        }
+    }
+
+    @Override
+    public ListenableFuture<ClientHttpResponse> intercept(HttpRequest request, byte[] body,
+                                                          AsyncClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        ListenableFuture<ClientHttpResponse> response = execution.executeAsync(request, body);
+        response.addCallback(new ListenableFutureCallback<ClientHttpResponse>() {
+            @Override
+            public void onSuccess(ClientHttpResponse result) {
+                try {
+                    record(request, start, getOutcome(result));
+                } catch (IOException e) {
+                    record(request, start, ArkClientMetrics.Outcome.ERROR);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                record(request, start, getOutcome(e));
+            }
+        });
+        return response;
+    }
+
+    private void record(HttpRequest request, long start, ArkClientMetrics.Outcome outcome) {
+        URI uri = request.getURI();
+        metrics.recordRequest(uri.getHost() + ":" + uri.getPort(), uri.getPath(), System.nanoTime() - start, outcome);
+    }
+
+    private ArkClientMetrics.Outcome getOutcome(ClientHttpResponse response) throws IOException {
+        return response.getRawStatusCode() >= 400 ? ArkClientMetrics.Outcome.ERROR : ArkClientMetrics.Outcome.SUCCESS;
+    }
+
+    private ArkClientMetrics.Outcome getOutcome(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // Connect, read and connection pool timeouts are all interrupted io
+            if (cause instanceof InterruptedIOException) {
+                return ArkClientMetrics.Outcome.TIMEOUT;
+            }
+        }
+        return ArkClientMetrics.Outcome.ERROR;
+    }
+
+}
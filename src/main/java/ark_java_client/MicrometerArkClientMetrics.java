@@ -0,0 +1,82 @@
+package ark_java_client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes client metrics to a Micrometer registry:
+ * <ul>
+ *     <li>{@code ark.client.requests} timer tagged by peer, endpoint and outcome</li>
+ *     <li>{@code ark.client.request.failures} counter tagged by peer, endpoint and outcome (error or timeout)</li>
+ *     <li>{@code ark.client.broadcasts} counter of transactions tagged by peer and result (accepted or rejected)</li>
+ *     <li>{@code ark.client.signing} timer</li>
+ * </ul>
+ * Meters are registered once per set of tags and reused. Percentile histograms are only published when
+ * asked for, since every peer, endpoint and outcome gets a histogram of its own.
+ */
+public class MicrometerArkClientMetrics implements ArkClientMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean publishPercentileHistograms;
+    private final Timer signingTimer;
+    private final Map<List<String>, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final Map<List<String>, Counter> requestFailureCounters = new ConcurrentHashMap<>();
+    private final Map<List<String>, Counter> broadcastCounters = new ConcurrentHashMap<>();
+
+    public MicrometerArkClientMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, false);
+    }
+
+    public MicrometerArkClientMetrics(MeterRegistry meterRegistry, boolean publishPercentileHistograms) {
+        this.meterRegistry = meterRegistry;
+        this.publishPercentileHistograms = publishPercentileHistograms;
+        this.signingTimer = Timer.builder("ark.client.signing")
+            .publishPercentileHistogram(publishPercentileHistograms)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void recordRequest(String peer, String endpoint, long durationNanos, Outcome outcome) {
+        List<String> tags = Arrays.asList(peer, endpoint, outcome.name().toLowerCase());
+        requestTimers.computeIfAbsent(tags, key -> Timer.builder("ark.client.requests")
+                .tags("peer", key.get(0), "endpoint", key.get(1), "outcome", key.get(2))
+                .publishPercentileHistogram(publishPercentileHistograms)
+                .register(meterRegistry))
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (outcome != Outcome.SUCCESS) {
+            requestFailureCounters.computeIfAbsent(tags, key -> Counter.builder("ark.client.request.failures")
+                    .tags("peer", key.get(0), "endpoint", key.get(1), "outcome", key.get(2))
+                    .register(meterRegistry))
+                .increment();
+        }
+    }
+
+    @Override
+    public void recordBroadcast(String peer, int accepted, int rejected) {
+        if (accepted > 0) {
+            getBroadcastCounter(peer, "accepted").increment(accepted);
+        }
+        if (rejected > 0) {
+            getBroadcastCounter(peer, "rejected").increment(rejected);
+        }
+    }
+
+    @Override
+    public void recordSigning(long durationNanos) {
+        signingTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter getBroadcastCounter(String peer, String result) {
+        return broadcastCounters.computeIfAbsent(Arrays.asList(peer, result), key -> Counter.builder("ark.client.broadcasts")
+            .tags("peer", key.get(0), "result", key.get(1))
+            .register(meterRegistry));
+    }
+
+}
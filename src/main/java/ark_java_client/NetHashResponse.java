@@ -0,0 +1,9 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class NetHashResponse {
+    private Boolean success;
+    private String nethash;
+}
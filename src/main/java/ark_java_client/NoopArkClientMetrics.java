@@ -0,0 +1,24 @@
+package ark_java_client;
+
+public class NoopArkClientMetrics implements ArkClientMetrics {
+
+    public static final NoopArkClientMetrics INSTANCE = new NoopArkClientMetrics();
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordRequest(String peer, String endpoint, long durationNanos, Outcome outcome) {
+    }
+
+    @Override
+    public void recordBroadcast(String peer, int accepted, int rejected) {
+    }
+
+    @Override
+    public void recordSigning(long durationNanos) {
+    }
+
+}
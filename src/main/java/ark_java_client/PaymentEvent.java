@@ -0,0 +1,13 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class PaymentEvent {
+
+    public enum Type { RECEIVED, CONFIRMED }
+
+    private final Type type;
+    private final String address;
+    private final Transaction transaction;
+}
@@ -0,0 +1,282 @@
+package ark_java_client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Watches many addresses for incoming payments with a bounded number of polling threads. Each
+ * address is polled on its own schedule that backs off while the address is quiet and speeds up
+ * again when payments arrive. Listeners hear about each transaction once when it first shows up,
+ * and again once it reaches the configured number of confirmations.
+ */
+@Slf4j
+public class PaymentWatcher implements AutoCloseable {
+
+    private final ArkClient arkClient;
+    private final ArkNetworkPaymentWatcherSettings settings;
+    private final ConcurrentHashMap<String, WatchedAddress> watchedAddresses = new ConcurrentHashMap<>();
+    private final DelayQueue<WatchedAddress> pollQueue = new DelayQueue<>();
+    private final List<Consumer<PaymentEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean closed = false;
+
+    public PaymentWatcher(ArkClient arkClient, ArkNetworkPaymentWatcherSettings settings) {
+        this.arkClient = arkClient;
+        this.settings = settings;
+        for (int i = 1; i <= settings.getThreads(); i++) {
+            Thread worker = new Thread(this::work, "ark-payment-watcher-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    public void addListener(Consumer<PaymentEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts watching an address. Transactions already received when the address is first polled
+     * are not reported as received, but are still reported once they are confirmed.
+     */
+    public void watch(String address) {
+        watchedAddresses.computeIfAbsent(address, key -> {
+            WatchedAddress watchedAddress = new WatchedAddress(key, settings.getMinPollInterval());
+            pollQueue.add(watchedAddress);
+            return watchedAddress;
+        });
+    }
+
+    public void unwatch(String address) {
+        WatchedAddress watchedAddress = watchedAddresses.remove(address);
+        if (watchedAddress != null) {
+            watchedAddress.removed = true;
+        }
+    }
+
+    public Set<String> getWatchedAddresses() {
+        return Collections.unmodifiableSet(watchedAddresses.keySet());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void work() {
+        while (!closed) {
+            WatchedAddress watchedAddress;
+            try {
+                watchedAddress = pollQueue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (watchedAddress.removed) {
+                continue;
+            }
+
+            boolean active;
+            try {
+                active = poll(watchedAddress);
+            } catch (Exception e) {
+                log.warn("Failed to poll transactions for address " + watchedAddress.address + ": " + e.getMessage());
+                active = false;
+            }
+
+            if (active) {
+                watchedAddress.interval = settings.getMinPollInterval();
+            } else {
+                watchedAddress.interval = Math.min(watchedAddress.interval * 2, settings.getMaxPollInterval());
+            }
+            // Spread polls out so addresses registered together don't stay in lockstep
+            long jitter = (long) (watchedAddress.interval * ThreadLocalRandom.current().nextDouble(-0.1, 0.1));
+            watchedAddress.nextPollAt = System.currentTimeMillis() + watchedAddress.interval + jitter;
+            if (!watchedAddress.removed) {
+                pollQueue.add(watchedAddress);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the address had new or still unconfirmed transactions.
+     */
+    private boolean poll(WatchedAddress watchedAddress) {
+        boolean baseline = !watchedAddress.baselined;
+        Set<String> updatedPendingIds = new HashSet<>();
+        List<Transaction> received = new ArrayList<>();
+        List<Transaction> scanned = new ArrayList<>();
+
+        // Transactions are ordered by the timestamp the sender signed them with, so one confirmed since the
+        // last poll can sit below transactions already seen. Page back until transactions are too old to
+        // have been confirmed above the watermark.
+        Integer oldestTimestamp = watchedAddress.watermarkTimestamp != null
+            ? watchedAddress.watermarkTimestamp - settings.getMaxTransactionAge()
+            : null;
+        int offset = 0;
+        while (true) {
+            List<Transaction> page = arkClient.getTransactionByRecipientAddress(watchedAddress.address, settings.getPageSize(), offset);
+            boolean reachedOldestTimestamp = false;
+            for (Transaction transaction : page) {
+                if (oldestTimestamp != null && transaction.getTimestamp() != null
+                    && transaction.getTimestamp() < oldestTimestamp) {
+                    reachedOldestTimestamp = true;
+                    break;
+                }
+                scanned.add(transaction);
+                if (watchedAddress.pending.containsKey(transaction.getId())) {
+                    watchedAddress.pending.put(transaction.getId(), transaction);
+                    updatedPendingIds.add(transaction.getId());
+                } else if (baseline || !watchedAddress.isSeen(transaction)) {
+                    received.add(transaction);
+                }
+            }
+            if (baseline || reachedOldestTimestamp || page.size() < settings.getPageSize()) {
+                break;
+            }
+            offset += page.size();
+        }
+
+        for (Transaction transaction : received) {
+            watchedAddress.markSeen(transaction);
+            if (baseline && isConfirmed(transaction)) {
+                continue;
+            }
+            if (!baseline) {
+                emit(PaymentEvent.Type.RECEIVED, watchedAddress.address, transaction);
+            }
+            watchedAddress.pending.put(transaction.getId(), transaction);
+            updatedPendingIds.add(transaction.getId());
+        }
+
+        // Everything up to the chain height was there at the baseline. Later on the watermark trails the
+        // chain by a margin, so ids of transactions that move in a reorg are still remembered.
+        long chainHeight = getChainHeight(scanned);
+        if (chainHeight >= 0) {
+            watchedAddress.advanceWatermark(baseline ? chainHeight : chainHeight - settings.getConfirmationMargin(), scanned);
+        }
+        watchedAddress.baselined = true;
+
+        // Pending transactions that have dropped off the first pages are looked up one by one
+        for (String transactionId : new ArrayList<>(watchedAddress.pending.keySet())) {
+            if (!updatedPendingIds.contains(transactionId)) {
+                Transaction transaction = getTransaction(transactionId);
+                if (transaction == null) {
+                    log.info("Pending transaction " + transactionId + " to address " + watchedAddress.address + " is no longer known");
+                    watchedAddress.pending.remove(transactionId);
+                    continue;
+                }
+                watchedAddress.pending.put(transactionId, transaction);
+            }
+        }
+
+        Iterator<Transaction> pending = watchedAddress.pending.values().iterator();
+        while (pending.hasNext()) {
+            Transaction transaction = pending.next();
+            if (isConfirmed(transaction)) {
+                pending.remove();
+                emit(PaymentEvent.Type.CONFIRMED, watchedAddress.address, transaction);
+            }
+        }
+
+        return (!baseline && !received.isEmpty()) || !watchedAddress.pending.isEmpty();
+    }
+
+    private long getChainHeight(List<Transaction> transactions) {
+        // A transaction at height h with c confirmations means the chain has reached height h + c - 1
+        return transactions.stream()
+            .filter(transaction -> transaction.getHeight() != null && transaction.getConfirmations() != null)
+            .mapToLong(transaction -> transaction.getHeight() + transaction.getConfirmations() - 1L)
+            .max()
+            .orElse(-1L);
+    }
+
+    private boolean isConfirmed(Transaction transaction) {
+        return transaction.getConfirmations() != null && transaction.getConfirmations() >= settings.getMinConfirmations();
+    }
+
+    private Transaction getTransaction(String transactionId) {
+        try {
+            return arkClient.getTransaction(transactionId);
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private void emit(PaymentEvent.Type type, String address, Transaction transaction) {
+        PaymentEvent paymentEvent = new PaymentEvent(type, address, transaction);
+        for (Consumer<PaymentEvent> listener : listeners) {
+            try {
+                listener.accept(paymentEvent);
+            } catch (Exception e) {
+                log.warn("Payment listener failed for transaction " + transaction.getId() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Polling state of one address. Only the worker that took it off the queue touches it, so it
+     * needs no locking. Transactions at or below the watermark height have all been seen, above it
+     * the ids of seen transactions are remembered until the watermark passes them.
+     */
+    private static class WatchedAddress implements Delayed {
+        private final String address;
+        private volatile boolean removed = false;
+        private long interval;
+        private long nextPollAt;
+        private boolean baselined = false;
+        private long watermarkHeight = -1;
+        private Integer watermarkTimestamp;
+        private final Map<String, Integer> recentIds = new HashMap<>();
+        private final Map<String, Transaction> pending = new LinkedHashMap<>();
+
+        private WatchedAddress(String address, long interval) {
+            this.address = address;
+            this.interval = interval;
+            this.nextPollAt = System.currentTimeMillis();
+        }
+
+        private boolean isSeen(Transaction transaction) {
+            return recentIds.containsKey(transaction.getId())
+                || (transaction.getHeight() != null && transaction.getHeight() <= watermarkHeight);
+        }
+
+        private void markSeen(Transaction transaction) {
+            recentIds.put(transaction.getId(), transaction.getHeight());
+        }
+
+        private void advanceWatermark(long height, List<Transaction> scanned) {
+            if (height <= watermarkHeight) {
+                return;
+            }
+            watermarkHeight = height;
+            recentIds.values().removeIf(idHeight -> idHeight != null && idHeight <= height);
+            // Blocks above the watermark are newer than any transaction below it
+            for (Transaction transaction : scanned) {
+                if (transaction.getHeight() != null && transaction.getHeight() <= height && transaction.getTimestamp() != null
+                    && (watermarkTimestamp == null || transaction.getTimestamp() > watermarkTimestamp)) {
+                    watermarkTimestamp = transaction.getTimestamp();
+                }
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(nextPollAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(nextPollAt, ((WatchedAddress) other).nextPollAt);
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package ark_java_client;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 @Data
@@ -7,4 +8,12 @@ public class Peer {
     private String ip;
     private Integer apiPort;
     private Integer p2pPort;
+    private String version;
+    private String status;
+
+    @JsonProperty("port")
+    public void setPort(Integer port) {
+        // Peer lists report the p2p port as "port"
+        this.p2pPort = port;
+    }
 }
@@ -0,0 +1,204 @@
+package ark_java_client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Adaptive limit on concurrent requests to a single peer (AIMD). While the limit is in use it grows
+ * by about one per limit's worth of successful requests. It is cut by the backoff ratio when the peer
+ * sheds load, fails or times out, or when latency rises past the tolerance over the no-load latency,
+ * which is the lowest latency of a recent window of requests. Requests over the limit wait in line.
+ */
+@Slf4j
+public class PeerConcurrencyLimit {
+
+    // Latency within a few milliseconds of the no-load latency is jitter, not congestion
+    private static final long LATENCY_SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    // Lets the no-load latency drift up between windows if the peer really has become slower
+    private static final double NO_LOAD_LATENCY_DRIFT = 1.1;
+
+    private final Peer peer;
+    private final ArkNetworkConcurrencyLimitSettings settings;
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+    private double limit;
+    private int inFlight = 0;
+    private long lastDecreaseAt = System.nanoTime();
+    private long noLoadLatency = -1;
+    private long windowMinLatency = Long.MAX_VALUE;
+    private int windowSamples = 0;
+
+    PeerConcurrencyLimit(Peer peer, ArkNetworkConcurrencyLimitSettings settings) {
+        this.peer = peer;
+        this.settings = settings;
+        this.limit = settings.getInitialLimit();
+    }
+
+    public Peer getPeer() {
+        return peer;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueSize() {
+        return waiters.size();
+    }
+
+    /**
+     * Latency of the peer when it isn't loaded in milliseconds, or -1 until a window has been measured.
+     */
+    public synchronized double getNoLoadLatencyMillis() {
+        return noLoadLatency < 0 ? -1 : noLoadLatency / 1e6;
+    }
+
+    public synchronized boolean hasCapacity() {
+        return inFlight < (int) limit && waiters.isEmpty();
+    }
+
+    /**
+     * Completes once a request may be sent, right away if the peer is under its limit. Fails if too
+     * many requests are already waiting. Cancelling the returned future leaves the line.
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        synchronized (this) {
+            if (inFlight < (int) limit && waiters.isEmpty()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waiters.size() < settings.getMaxQueueSize()) {
+                CompletableFuture<Void> waiter = new CompletableFuture<>();
+                waiters.add(waiter);
+                // A waiter cancelled by the caller gives up its place in line right away
+                waiter.whenComplete((ignore, e) -> {
+                    if (waiter.isCancelled()) {
+                        cancel(waiter);
+                    }
+                });
+                return waiter;
+            }
+        }
+        CompletableFuture<Void> rejected = new CompletableFuture<>();
+        rejected.completeExceptionally(new RuntimeException("Too many requests waiting for peer " + getPeerName()));
+        return rejected;
+    }
+
+    /**
+     * Waits up to the queue timeout until a request may be sent.
+     */
+    public void acquire() {
+        CompletableFuture<Void> permit = acquireAsync();
+        try {
+            permit.get(settings.getQueueTimeout(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        } catch (TimeoutException e) {
+            if (cancel(permit)) {
+                throw new RuntimeException("Timed out waiting for a request slot on peer " + getPeerName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!cancel(permit)) {
+                releaseUnused();
+            }
+            throw new RuntimeException("Interrupted while waiting for a request slot on peer " + getPeerName(), e);
+        }
+    }
+
+    /**
+     * Releases a request slot and adjusts the limit from how the request went. A request counts as
+     * dropped if the peer shed it, failed on it or never answered.
+     */
+    public void release(long startNanos, long latencyNanos, boolean dropped) {
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            boolean limitInUse = inFlight * 2 >= limit;
+            inFlight--;
+            if (dropped) {
+                decrease(startNanos);
+            } else if (isCongested(latencyNanos)) {
+                decrease(startNanos);
+            } else if (limitInUse) {
+                limit = Math.min(settings.getMaxLimit(), limit + 1 / limit);
+            }
+            granted = grantWaiters();
+        }
+        complete(granted);
+    }
+
+    /**
+     * Releases a request slot that wasn't used, or whose request was cancelled, without adjusting the limit.
+     */
+    public void releaseUnused() {
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            inFlight--;
+            granted = grantWaiters();
+        }
+        complete(granted);
+    }
+
+    private boolean isCongested(long latencyNanos) {
+        windowMinLatency = Math.min(windowMinLatency, latencyNanos);
+        if (++windowSamples >= settings.getLatencyWindow()) {
+            noLoadLatency = noLoadLatency < 0
+                ? windowMinLatency
+                : Math.min(windowMinLatency, (long) (noLoadLatency * NO_LOAD_LATENCY_DRIFT));
+            windowMinLatency = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        return noLoadLatency >= 0 && latencyNanos > noLoadLatency * settings.getLatencyTolerance() + LATENCY_SLACK_NANOS;
+    }
+
+    private void decrease(long startNanos) {
+        // Requests sent before the last cut saw the old limit, only cut again on news from after it
+        if (startNanos - lastDecreaseAt < 0) {
+            return;
+        }
+        double decreased = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+        if ((int) decreased < (int) limit) {
+            log.debug("Lowered concurrency limit of peer " + getPeerName() + " to " + (int) decreased);
+        }
+        limit = decreased;
+        lastDecreaseAt = System.nanoTime();
+    }
+
+    private List<CompletableFuture<Void>> grantWaiters() {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        while (inFlight < (int) limit && !waiters.isEmpty()) {
+            granted.add(waiters.poll());
+            inFlight++;
+        }
+        return granted;
+    }
+
+    private void complete(List<CompletableFuture<Void>> granted) {
+        // Outside the lock, since completing a waiter runs whatever request was waiting on it
+        for (CompletableFuture<Void> waiter : granted) {
+            if (!waiter.complete(null)) {
+                releaseUnused();
+            }
+        }
+    }
+
+    private synchronized boolean cancel(CompletableFuture<Void> permit) {
+        return waiters.remove(permit);
+    }
+
+    private String getPeerName() {
+        return peer.getIp() + ":" + peer.getApiPort();
+    }
+
+}
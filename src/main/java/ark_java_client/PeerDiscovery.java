@@ -0,0 +1,181 @@
+package ark_java_client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically fetches peer lists from the trusted peers, keeps the peers that are on our network,
+ * recent enough and reachable, and publishes them together with the trusted peers to the
+ * {@link PeerSelector} as a new immutable snapshot.
+ */
+@Slf4j
+public class PeerDiscovery implements AutoCloseable {
+
+    private final ArkNetwork arkNetwork;
+    private final RestTemplate restTemplate;
+    private final List<Peer> trustedPeers;
+    private final PeerSelector peerSelector;
+    private final ArkNetworkDiscoverySettings settings;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService probeExecutor;
+
+    public PeerDiscovery(ArkNetwork arkNetwork, RestTemplate restTemplate, List<Peer> trustedPeers, PeerSelector peerSelector) {
+        this.arkNetwork = arkNetwork;
+        this.restTemplate = restTemplate;
+        this.trustedPeers = new ArrayList<>(trustedPeers);
+        this.peerSelector = peerSelector;
+        this.settings = arkNetwork.getDiscoverySettings();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ark-discovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        this.probeExecutor = Executors.newFixedThreadPool(settings.getProbeThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "ark-discovery-probe-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.warn("Failed to refresh Ark network peers: " + e.getMessage(), e);
+            }
+        }, 0, settings.getInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    public void refresh() {
+        Map<String, Peer> candidates = new LinkedHashMap<>();
+        for (Peer trustedPeer : trustedPeers) {
+            PeerList peerList;
+            try {
+                peerList = restTemplate
+                    .exchange(
+                        getPeerUrl(trustedPeer) + "/api/peers",
+                        HttpMethod.GET,
+                        new HttpEntity<>(getApiHttpHeaders()),
+                        PeerList.class
+                    )
+                    .getBody();
+            } catch (Exception e) {
+                log.debug("Failed to get peer list from node " + trustedPeer.getIp() + ": " + e.getMessage());
+                continue;
+            }
+            if (peerList == null || peerList.getPeers() == null) {
+                continue;
+            }
+            peerList.getPeers().stream()
+                .filter(this::isCandidate)
+                .map(this::toPeer)
+                .forEach(peer -> candidates.putIfAbsent(peer.getIp() + ":" + peer.getApiPort(), peer));
+        }
+
+        Set<String> trustedPeerKeys = trustedPeers.stream()
+            .map(peer -> peer.getIp() + ":" + peer.getApiPort())
+            .collect(Collectors.toSet());
+        List<CompletableFuture<Peer>> probes = candidates.values().stream()
+            .filter(peer -> !trustedPeerKeys.contains(peer.getIp() + ":" + peer.getApiPort()))
+            .map(peer -> CompletableFuture.supplyAsync(() -> isReachable(peer) ? peer : null, probeExecutor))
+            .collect(Collectors.toList());
+
+        // Trusted peers are always kept, discovered peers fill up the rest of the set
+        List<Peer> peers = new ArrayList<>(trustedPeers);
+        for (CompletableFuture<Peer> probe : probes) {
+            Peer peer = probe.join();
+            if (peer != null && peers.size() < Math.max(settings.getMaxPeers(), trustedPeers.size())) {
+                peers.add(peer);
+            }
+        }
+
+        peerSelector.setPeers(peers);
+        log.info("Discovered " + (peers.size() - trustedPeers.size()) + " Ark network peers in addition to "
+            + trustedPeers.size() + " trusted peers");
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        probeExecutor.shutdownNow();
+    }
+
+    private boolean isCandidate(Peer peer) {
+        if (peer.getIp() == null || peer.getP2pPort() == null) {
+            return false;
+        }
+        if (peer.getStatus() != null && !peer.getStatus().equals("OK")) {
+            return false;
+        }
+        return settings.getMinVersion() == null
+            || (peer.getVersion() != null && compareVersions(peer.getVersion(), settings.getMinVersion()) >= 0);
+    }
+
+    private Peer toPeer(Peer listedPeer) {
+        Peer peer = new Peer();
+        peer.setIp(listedPeer.getIp());
+        peer.setP2pPort(listedPeer.getP2pPort());
+        peer.setApiPort(settings.getApiPort() != null ? settings.getApiPort() : listedPeer.getP2pPort());
+        return peer;
+    }
+
+    private boolean isReachable(Peer peer) {
+        try {
+            NetHashResponse netHashResponse = restTemplate
+                .exchange(
+                    getPeerUrl(peer) + "/api/blocks/getNethash",
+                    HttpMethod.GET,
+                    new HttpEntity<>(getApiHttpHeaders()),
+                    NetHashResponse.class
+                )
+                .getBody();
+            return arkNetwork.getNetHash() == null
+                || (netHashResponse != null && arkNetwork.getNetHash().equals(netHashResponse.getNethash()));
+        } catch (Exception e) {
+            log.debug("Discovered node " + peer.getIp() + " is not reachable: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static int compareVersions(String version, String otherVersion) {
+        String[] parts = version.split("-")[0].split("\\.");
+        String[] otherParts = otherVersion.split("-")[0].split("\\.");
+        for (int i = 0; i < Math.max(parts.length, otherParts.length); i++) {
+            int part = i < parts.length ? parseVersionPart(parts[i]) : 0;
+            int otherPart = i < otherParts.length ? parseVersionPart(otherParts[i]) : 0;
+            if (part != otherPart) {
+                return Integer.compare(part, otherPart);
+            }
+        }
+        return 0;
+    }
+
+    private static int parseVersionPart(String part) {
+        try {
+            return Integer.parseInt(part);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private HttpHeaders getApiHttpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("API-Version", "1");
+        return headers;
+    }
+
+    private String getPeerUrl(Peer peer) {
+        return arkNetwork.getHttpScheme() + "://" + peer.getIp() + ":" + peer.getApiPort();
+    }
+
+}
@@ -0,0 +1,98 @@
+package ark_java_client;
+
+import lombok.Getter;
+
+/**
+ * Health statistics for a single peer: EWMA latency and error rate, last seen chain height and
+ * circuit breaker state.
+ */
+@Getter
+public class PeerHealth {
+
+    public enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private final Peer peer;
+    private volatile double latencyMillis = -1;
+    private volatile double errorRate = 0;
+    private volatile long height = -1;
+    private volatile CircuitState circuitState = CircuitState.CLOSED;
+    private volatile int consecutiveFailures = 0;
+    private volatile long openedAt = 0;
+    private volatile boolean probeInFlight = false;
+
+    PeerHealth(Peer peer) {
+        this.peer = peer;
+    }
+
+    synchronized void recordSuccess(long latencyNanos, double ewmaWeight) {
+        updateLatency(latencyNanos, ewmaWeight);
+        errorRate = (1 - ewmaWeight) * errorRate;
+        consecutiveFailures = 0;
+        circuitState = CircuitState.CLOSED;
+        probeInFlight = false;
+    }
+
+    synchronized void recordFailure(long latencyNanos, double ewmaWeight, int failureThreshold) {
+        updateLatency(latencyNanos, ewmaWeight);
+        errorRate = (1 - ewmaWeight) * errorRate + ewmaWeight;
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (circuitState == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            circuitState = CircuitState.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Gives back a probe that was acquired but never sent, so the next request can probe instead.
+     */
+    synchronized void releaseProbe() {
+        if (circuitState == CircuitState.HALF_OPEN && probeInFlight) {
+            probeInFlight = false;
+            circuitState = CircuitState.OPEN;
+        }
+    }
+
+    void recordHeight(long height) {
+        // The latest report wins, so a peer that reported a wrong height is corrected by its next one
+        this.height = height;
+    }
+
+    synchronized boolean tryAcquire(long openDuration) {
+        switch (circuitState) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openDuration) {
+                    return false;
+                }
+                // Let a single probe request through to test whether the peer has recovered
+                circuitState = CircuitState.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    boolean isAvailable(long openDuration) {
+        switch (circuitState) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return System.currentTimeMillis() - openedAt >= openDuration;
+            default:
+                return !probeInFlight;
+        }
+    }
+
+    private void updateLatency(long latencyNanos, double ewmaWeight) {
+        double millis = latencyNanos / 1e6;
+        latencyMillis = latencyMillis < 0 ? millis : (1 - ewmaWeight) * latencyMillis + ewmaWeight * millis;
+    }
+
+}
@@ -0,0 +1,494 @@
+package ark_java_client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Routes reads to healthy, fast peers. Picks the better scoring of two random peers (power of two
+ * choices) using EWMA latency, error rate and height lag, and stops routing to peers whose circuit
+ * breaker has opened after repeated failures until a half-open probe succeeds.
+ *
+ * Requests to each peer are also held to its {@link PeerConcurrencyLimit}. Peers at their limit are
+ * passed over while others have room, and otherwise requests wait in line for the peer.
+ */
+public class PeerSelector {
+
+    private final ArkNetworkPeerSelectionSettings settings;
+    private final ArkNetworkConcurrencyLimitSettings concurrencyLimitSettings;
+    private final ConcurrentHashMap<Peer, PeerHealth> peerHealths = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Peer, PeerConcurrencyLimit> concurrencyLimits = new ConcurrentHashMap<>();
+    private volatile long maxHeight = -1;
+    private volatile List<Peer> peers;
+
+    public PeerSelector(List<Peer> peers, ArkNetworkPeerSelectionSettings settings,
+                        ArkNetworkConcurrencyLimitSettings concurrencyLimitSettings) {
+        this.settings = settings;
+        this.concurrencyLimitSettings = concurrencyLimitSettings;
+        this.peers = Collections.unmodifiableList(new ArrayList<>(peers));
+    }
+
+    public List<Peer> getPeers() {
+        return peers;
+    }
+
+    public void setPeers(List<Peer> peers) {
+        if (peers.isEmpty()) {
+            throw new IllegalArgumentException("Peer selector needs at least one peer");
+        }
+        // Publish a new snapshot, in-flight selections keep using the one they already read
+        this.peers = Collections.unmodifiableList(new ArrayList<>(peers));
+        peerHealths.keySet().retainAll(this.peers);
+        concurrencyLimits.keySet().retainAll(this.peers);
+        updateMaxHeight();
+    }
+
+    public Collection<PeerHealth> getPeerHealths() {
+        return peers.stream().map(this::getPeerHealth).collect(Collectors.toList());
+    }
+
+    public PeerHealth getPeerHealth(Peer peer) {
+        return peerHealths.computeIfAbsent(peer, PeerHealth::new);
+    }
+
+    public Collection<PeerConcurrencyLimit> getConcurrencyLimits() {
+        return peers.stream().map(this::getConcurrencyLimit).filter(concurrencyLimit -> concurrencyLimit != null)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The peer's concurrency limit, or null if concurrency limiting is disabled.
+     */
+    public PeerConcurrencyLimit getConcurrencyLimit(Peer peer) {
+        if (!Boolean.TRUE.equals(concurrencyLimitSettings.getEnabled())) {
+            return null;
+        }
+        return concurrencyLimits.computeIfAbsent(peer, key -> new PeerConcurrencyLimit(key, concurrencyLimitSettings));
+    }
+
+    /**
+     * Sends a read to a selected peer. If that peer sheds it as overloaded, it is retried once on another peer.
+     */
+    public <T> T call(Function<Peer, T> request) {
+        Peer peer = select();
+        try {
+            return call(peer, request);
+        } catch (RuntimeException e) {
+            Peer other = isLoadShed(e) ? selectOther(peer) : null;
+            if (other == null) {
+                throw e;
+            }
+            return call(other, request);
+        }
+    }
+
+    public <T> T call(Peer peer, Function<Peer, T> request) {
+        return call(peer, request, null);
+    }
+
+    /**
+     * Sends a read whose response is handed to caller code while it is still being read. The request
+     * runs that code through the given {@link CallerCode}, so the time it takes is left out of the
+     * peer's latency, and its exceptions reach the caller without counting against the peer or being
+     * retried on another peer.
+     */
+    public <T> T callStreaming(BiFunction<Peer, CallerCode, T> request) {
+        Peer peer = select();
+        CallerCode callerCode = new CallerCode();
+        try {
+            return call(peer, p -> request.apply(p, callerCode), callerCode);
+        } catch (RuntimeException e) {
+            // Once the caller has seen part of the response, a retry would hand it the same transactions again
+            Peer other = isLoadShed(e) && !callerCode.invoked ? selectOther(peer) : null;
+            if (other == null) {
+                throw e;
+            }
+            CallerCode otherCallerCode = new CallerCode();
+            return call(other, p -> request.apply(p, otherCallerCode), otherCallerCode);
+        }
+    }
+
+    private <T> T call(Peer peer, Function<Peer, T> request, CallerCode callerCode) {
+        PeerConcurrencyLimit concurrencyLimit = getConcurrencyLimit(peer);
+        if (concurrencyLimit != null) {
+            try {
+                concurrencyLimit.acquire();
+            } catch (RuntimeException e) {
+                release(peer);
+                throw e;
+            }
+        }
+        long start = System.nanoTime();
+        boolean released = false;
+        try {
+            T result = request.apply(peer);
+            long latency = getLatency(start, callerCode);
+            released = true;
+            recordSuccess(peer, latency);
+            release(concurrencyLimit, start, latency, null);
+            return result;
+        } catch (CallerCodeException e) {
+            // The peer was answering fine, the caller's own code failed
+            long latency = getLatency(start, callerCode);
+            released = true;
+            recordSuccess(peer, latency);
+            release(concurrencyLimit, start, latency, null);
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (RuntimeException) e.getCause();
+        } catch (RuntimeException e) {
+            long latency = getLatency(start, callerCode);
+            released = true;
+            recordResult(peer, latency, e);
+            release(concurrencyLimit, start, latency, e);
+            throw e;
+        } finally {
+            if (!released) {
+                // An Error ended the request. It says nothing about the peer, but the permit and probe must go back.
+                if (concurrencyLimit != null) {
+                    concurrencyLimit.releaseUnused();
+                }
+                release(peer);
+            }
+        }
+    }
+
+    /**
+     * Sends a read to a selected peer. If that peer sheds it as overloaded, it is retried once on another peer.
+     */
+    public <T> CompletableFuture<T> callAsync(Function<Peer, CompletableFuture<T>> request) {
+        Peer peer = select();
+        return callAsync(peer, request)
+                .handle((value, e) -> {
+                    Peer other = e != null && isLoadShed(e) ? selectOther(peer) : null;
+                    if (other != null) {
+                        return callAsync(other, request);
+                    }
+                    CompletableFuture<T> result = new CompletableFuture<>();
+                    if (e == null) {
+                        result.complete(value);
+                    } else {
+                        result.completeExceptionally(e);
+                    }
+                    return result;
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Sends a request to the given peer once its concurrency limit allows. Cancelling the returned
+     * future cancels the request, or gives up its place in line.
+     */
+    public <T> CompletableFuture<T> callAsync(Peer peer, Function<Peer, CompletableFuture<T>> request) {
+        PeerConcurrencyLimit concurrencyLimit = getConcurrencyLimit(peer);
+        CompletableFuture<Void> permit = concurrencyLimit != null
+                ? concurrencyLimit.acquireAsync()
+                : CompletableFuture.completedFuture(null);
+
+        AtomicReference<CompletableFuture<T>> sent = new AtomicReference<>();
+        CompletableFuture<T> result = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                CompletableFuture<T> sentRequest = sent.get();
+                if (sentRequest != null) {
+                    sentRequest.cancel(mayInterruptIfRunning);
+                } else {
+                    permit.cancel(false);
+                }
+                return cancelled;
+            }
+        };
+        permit.whenComplete((ignore, permitError) -> {
+            if (permitError != null) {
+                release(peer);
+                result.completeExceptionally(permitError);
+                return;
+            }
+            if (result.isCancelled()) {
+                if (concurrencyLimit != null) {
+                    concurrencyLimit.releaseUnused();
+                }
+                release(peer);
+                return;
+            }
+            long start = System.nanoTime();
+            CompletableFuture<T> sentRequest;
+            try {
+                sentRequest = request.apply(peer);
+            } catch (RuntimeException e) {
+                recordResult(peer, System.nanoTime() - start, e);
+                release(concurrencyLimit, start, System.nanoTime() - start, e);
+                result.completeExceptionally(e);
+                return;
+            }
+            sent.set(sentRequest);
+            sentRequest.whenComplete((value, e) -> {
+                long latency = System.nanoTime() - start;
+                if (e == null) {
+                    recordSuccess(peer, latency);
+                    release(concurrencyLimit, start, latency, null);
+                    result.complete(value);
+                } else {
+                    recordResult(peer, latency, e);
+                    release(concurrencyLimit, start, latency, e);
+                    result.completeExceptionally(e);
+                }
+            });
+            if (result.isCancelled()) {
+                sentRequest.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public Peer select() {
+        List<Peer> currentPeers = peers;
+        if (currentPeers.size() == 1) {
+            return currentPeers.get(0);
+        }
+
+        long openDuration = settings.getOpenDuration();
+        for (int attempt = 0; attempt < 4; attempt++) {
+            Peer first = currentPeers.get(ThreadLocalRandom.current().nextInt(currentPeers.size()));
+            Peer second = currentPeers.get(ThreadLocalRandom.current().nextInt(currentPeers.size()));
+            boolean firstAvailable = isAvailable(first, openDuration);
+            boolean secondAvailable = isAvailable(second, openDuration);
+            if (!firstAvailable && !secondAvailable) {
+                continue;
+            }
+            Peer best;
+            if (!firstAvailable) {
+                best = second;
+            } else if (!secondAvailable) {
+                best = first;
+            } else {
+                best = getScore(first) <= getScore(second) ? first : second;
+            }
+            if (getPeerHealth(best).tryAcquire(openDuration)) {
+                return best;
+            }
+        }
+
+        // Most peers are down or at their limit, fall back to scanning for any available peer
+        List<Peer> availablePeers = currentPeers.stream()
+                .filter(peer -> isAvailable(peer, openDuration))
+                .collect(Collectors.toList());
+        for (Peer peer : availablePeers) {
+            if (getPeerHealth(peer).tryAcquire(openDuration)) {
+                return peer;
+            }
+        }
+        // Every peer that is up is at its limit, so wait in the shortest line
+        List<Peer> upPeers = currentPeers.stream()
+                .filter(peer -> getPeerHealth(peer).isAvailable(openDuration))
+                .sorted(Comparator.comparingInt(this::getQueueSize))
+                .collect(Collectors.toList());
+        for (Peer peer : upPeers) {
+            if (getPeerHealth(peer).tryAcquire(openDuration)) {
+                return peer;
+            }
+        }
+        // Every circuit is open, so any peer is as good as another
+        return currentPeers.get(ThreadLocalRandom.current().nextInt(currentPeers.size()));
+    }
+
+    /**
+     * Gives back a peer returned by {@link #select()} or {@link #selectOther(Peer)} that no request was
+     * sent to. Otherwise a half-open peer would wait forever for the result of its probe.
+     */
+    public void release(Peer peer) {
+        getPeerHealth(peer).releaseProbe();
+    }
+
+    /**
+     * Picks up to the given number of random peers to broadcast to. Peers that are up and have room
+     * under their concurrency limit come first, so broadcasts go around overloaded peers.
+     */
+    public List<Peer> selectBroadcastPeers(int count) {
+        List<Peer> targetPeers = new ArrayList<>(peers);
+        Collections.shuffle(targetPeers);
+        long openDuration = settings.getOpenDuration();
+        // The sort is stable, so peers stay shuffled within each group
+        targetPeers.sort(Comparator.comparingInt(peer -> isAvailable(peer, openDuration) ? 0 : 1));
+        return new ArrayList<>(targetPeers.subList(0, Math.min(count, targetPeers.size())));
+    }
+
+    /**
+     * Selects a peer other than the given one, or null if there is no other available peer.
+     */
+    public Peer selectOther(Peer peer) {
+        if (peers.size() < 2) {
+            return null;
+        }
+        for (int attempt = 0; attempt < 4; attempt++) {
+            Peer other = select();
+            if (!other.equals(peer)) {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    public void recordSuccess(Peer peer, long latencyNanos) {
+        getPeerHealth(peer).recordSuccess(latencyNanos, settings.getEwmaWeight());
+    }
+
+    public void recordFailure(Peer peer, long latencyNanos) {
+        getPeerHealth(peer).recordFailure(latencyNanos, settings.getEwmaWeight(), settings.getFailureThreshold());
+    }
+
+    /**
+     * Highest of the heights the peers last reported, or -1 if none has reported one yet.
+     */
+    public long getMaxHeight() {
+        return maxHeight;
+    }
+
+    public void recordHeight(Peer peer, Long height) {
+        if (height == null) {
+            return;
+        }
+        getPeerHealth(peer).recordHeight(height);
+        updateMaxHeight();
+    }
+
+    public void recordHeight(Peer peer, List<Transaction> transactions) {
+        // A transaction at height h with c confirmations means the peer has seen height h + c - 1
+        transactions.stream()
+                .filter(transaction -> transaction.getHeight() != null && transaction.getConfirmations() != null)
+                .mapToLong(transaction -> transaction.getHeight() + transaction.getConfirmations() - 1L)
+                .max()
+                .ifPresent(height -> recordHeight(peer, height));
+    }
+
+    private void recordResult(Peer peer, long latencyNanos, Throwable e) {
+        if (getCause(e) instanceof CancellationException) {
+            // Given up on by the caller, it says nothing about the peer, but a probe has to be sent again
+            release(peer);
+            return;
+        }
+        if (isPeerFailure(e)) {
+            recordFailure(peer, latencyNanos);
+        } else {
+            // The peer answered, the request itself was bad or the resource doesn't exist
+            recordSuccess(peer, latencyNanos);
+        }
+    }
+
+    private void release(PeerConcurrencyLimit concurrencyLimit, long start, long latencyNanos, Throwable e) {
+        if (concurrencyLimit == null) {
+            return;
+        }
+        if (e != null && getCause(e) instanceof CancellationException) {
+            concurrencyLimit.releaseUnused();
+        } else {
+            concurrencyLimit.release(start, latencyNanos, e != null && (isPeerFailure(e) || isLoadShed(e)));
+        }
+    }
+
+    private void updateMaxHeight() {
+        // Taken from the peers' latest heights rather than kept as a running max, so a height reported
+        // by a peer that has since been corrected or removed doesn't make every other peer look behind
+        maxHeight = peerHealths.values().stream().mapToLong(PeerHealth::getHeight).max().orElse(-1);
+    }
+
+    private long getLatency(long start, CallerCode callerCode) {
+        long latency = System.nanoTime() - start;
+        return callerCode != null ? latency - callerCode.nanos : latency;
+    }
+
+    private boolean isAvailable(Peer peer, long openDuration) {
+        PeerConcurrencyLimit concurrencyLimit = getConcurrencyLimit(peer);
+        return getPeerHealth(peer).isAvailable(openDuration) && (concurrencyLimit == null || concurrencyLimit.hasCapacity());
+    }
+
+    private int getQueueSize(Peer peer) {
+        PeerConcurrencyLimit concurrencyLimit = getConcurrencyLimit(peer);
+        return concurrencyLimit != null ? concurrencyLimit.getQueueSize() : 0;
+    }
+
+    private boolean isPeerFailure(Throwable e) {
+        Throwable cause = getCause(e);
+        return !(cause instanceof RestClientResponseException) || ((RestClientResponseException) cause).getRawStatusCode() >= 500;
+    }
+
+    /**
+     * Whether the peer turned the request away because it is overloaded, without serving it.
+     */
+    private boolean isLoadShed(Throwable e) {
+        Throwable cause = getCause(e);
+        if (!(cause instanceof RestClientResponseException)) {
+            return false;
+        }
+        int status = ((RestClientResponseException) cause).getRawStatusCode();
+        return status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private Throwable getCause(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private double getScore(Peer peer) {
+        PeerHealth peerHealth = getPeerHealth(peer);
+        if (peerHealth.getLatencyMillis() < 0) {
+            // Untried peers score best so they get measured
+            return 0;
+        }
+        double score = peerHealth.getLatencyMillis() * (1 + 10 * peerHealth.getErrorRate());
+        if (getHeightLag(peerHealth) > settings.getMaxHeightLag()) {
+            score *= 10;
+        }
+        return score;
+    }
+
+    private long getHeightLag(PeerHealth peerHealth) {
+        if (peerHealth.getHeight() < 0) {
+            return 0;
+        }
+        return maxHeight - peerHealth.getHeight();
+    }
+
+    /**
+     * Runs caller code from inside a request, keeping track of the time it takes and setting its
+     * exceptions apart from those of the request.
+     */
+    public static class CallerCode {
+        private long nanos;
+        private boolean invoked;
+
+        public void run(Runnable code) {
+            invoked = true;
+            long start = System.nanoTime();
+            try {
+                code.run();
+            } catch (RuntimeException | Error e) {
+                throw new CallerCodeException(e);
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    private static class CallerCodeException extends RuntimeException {
+        CallerCodeException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package ark_java_client;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HTTP;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keep-alive transports backed by a bounded connection pool per peer, so repeated calls to
+ * the same trusted peers reuse warm connections instead of doing a new TCP handshake.
+ */
+public class PoolingHttpTransportFactory implements HttpTransportFactory {
+
+    @Override
+    public ClientHttpRequestFactory create(ArkNetworkHttpSettings httpSettings) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(httpSettings.getMaxConnectionsTotal());
+        connectionManager.setDefaultMaxPerRoute(httpSettings.getMaxConnectionsPerPeer());
+        connectionManager.setValidateAfterInactivity(httpSettings.getValidateAfterInactivity());
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(httpSettings.getConnectTimeout())
+                .setSocketTimeout(httpSettings.getReadTimeout())
+                .setConnectionRequestTimeout(httpSettings.getConnectionRequestTimeout())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(getKeepAliveStrategy(httpSettings.getKeepAlive()))
+                .evictExpiredConnections()
+                .evictIdleConnections((long) httpSettings.getIdleEvictionTime(), TimeUnit.MILLISECONDS)
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Override
+    public AsyncClientHttpRequestFactory createAsync(ArkNetworkHttpSettings httpSettings) {
+        // Non-blocking NIO client: a handful of I/O reactor threads serve all in-flight requests
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(httpSettings.getIoThreadCount())
+                .setConnectTimeout(httpSettings.getConnectTimeout())
+                .setSoTimeout(httpSettings.getReadTimeout())
+                .setSoKeepAlive(true)
+                .build();
+
+        PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig));
+        } catch (IOReactorException e) {
+            throw new RuntimeException("Failed to create non-blocking http connection manager", e);
+        }
+        connectionManager.setMaxTotal(httpSettings.getMaxConnectionsTotal());
+        connectionManager.setDefaultMaxPerRoute(httpSettings.getMaxConnectionsPerPeer());
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(httpSettings.getConnectTimeout())
+                .setSocketTimeout(httpSettings.getReadTimeout())
+                .setConnectionRequestTimeout(httpSettings.getConnectionRequestTimeout())
+                .build();
+
+        CloseableHttpAsyncClient httpAsyncClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(getKeepAliveStrategy(httpSettings.getKeepAlive()))
+                .build();
+
+        return new HttpComponentsAsyncClientHttpRequestFactory(httpAsyncClient);
+    }
+
+    private ConnectionKeepAliveStrategy getKeepAliveStrategy(long defaultKeepAlive) {
+        // Honor the peer's Keep-Alive timeout header if present, otherwise fall back to the configured value
+        return (response, context) -> {
+            BasicHeaderElementIterator iterator = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (iterator.hasNext()) {
+                HeaderElement element = iterator.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Math.min(Long.parseLong(element.getValue()) * 1000L, defaultKeepAlive);
+                    } catch (NumberFormatException ignore) {
+                        // fall through to default keep-alive
+                    }
+                }
+            }
+            return defaultKeepAlive;
+        };
+    }
+
+}
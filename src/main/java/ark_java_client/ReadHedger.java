@@ -0,0 +1,190 @@
+package ark_java_client;
+
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Hedges idempotent reads: if the first peer hasn't answered within the hedge delay, the same
+ * request is sent to a second peer and whichever answers first wins. The delay is either fixed or
+ * a percentile of recent read latencies, and hedges are paid for from a budget that each read tops
+ * up by a fraction of a request, so hedging can't add more than that fraction of extra load.
+ * Requests run on a bounded pool. When it is full, reads run on the calling thread without a hedge.
+ */
+public class ReadHedger implements AutoCloseable {
+
+    private static final int LATENCY_WINDOW = 1024;
+    private static final int MIN_LATENCY_SAMPLES = 32;
+    private static final double MAX_BUDGET = 10;
+
+    private final PeerSelector peerSelector;
+    private final ArkNetworkHedgingSettings settings;
+    private final ExecutorService executorService;
+
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount = 0;
+    private volatile long percentileDelay = -1;
+
+    private double budget = 0;
+    private final AtomicLong hedgeCount = new AtomicLong();
+    private final AtomicLong hedgeWinCount = new AtomicLong();
+
+    public ReadHedger(PeerSelector peerSelector, ArkNetworkHedgingSettings settings) {
+        this.peerSelector = peerSelector;
+        this.settings = settings;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executorService = new ThreadPoolExecutor(0, settings.getThreads(), 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "ark-read-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    public long getHedgeWinCount() {
+        return hedgeWinCount.get();
+    }
+
+    /**
+     * Current hedge delay in milliseconds, or -1 while there are too few samples to pick one.
+     */
+    public long getDelay() {
+        if (settings.getDelay() != null) {
+            return settings.getDelay();
+        }
+        long delay = percentileDelay;
+        return delay < 0 ? -1 : Math.max(delay, settings.getMinDelay());
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    public <T> T call(Function<Peer, T> request) {
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return peerSelector.call(request);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicReference<RuntimeException> lastFailure = new AtomicReference<>();
+        Peer firstPeer = peerSelector.select();
+        Future<?> firstRequest = submit(firstPeer, request, result, outstanding, lastFailure, false);
+        if (firstRequest == null) {
+            // Too many reads in flight to hedge this one
+            return peerSelector.call(firstPeer, request);
+        }
+        depositBudget();
+        Peer hedgePeer = null;
+        Future<?> hedgeRequest = null;
+        try {
+            long delay = getDelay();
+            if (delay >= 0) {
+                try {
+                    return result.get(delay, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // Only take a peer once the hedge is going to be sent, a half-open peer holds its probe for us
+                    hedgePeer = !result.isDone() && withdrawBudget() ? peerSelector.selectOther(firstPeer) : null;
+                    if (hedgePeer != null) {
+                        outstanding.incrementAndGet();
+                        hedgeRequest = submit(hedgePeer, request, result, outstanding, lastFailure, true);
+                        if (hedgeRequest != null) {
+                            hedgeCount.incrementAndGet();
+                        } else {
+                            peerSelector.release(hedgePeer);
+                            if (outstanding.decrementAndGet() == 0) {
+                                result.completeExceptionally(lastFailure.get());
+                            }
+                        }
+                    }
+                }
+            }
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for read", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            // Drop a request that hasn't started yet and give back its peer. A running one is left to finish,
+            // since blocking http reads can't be interrupted, and its latency still counts towards the peer's score.
+            if (firstRequest.cancel(false)) {
+                peerSelector.release(firstPeer);
+            }
+            if (hedgeRequest != null && hedgeRequest.cancel(false)) {
+                peerSelector.release(hedgePeer);
+            }
+        }
+    }
+
+    /**
+     * Sends the request on the pool, or returns null if every pool thread is busy.
+     */
+    private <T> Future<?> submit(Peer peer, Function<Peer, T> request, CompletableFuture<T> result,
+                                 AtomicInteger outstanding, AtomicReference<RuntimeException> lastFailure,
+                                 boolean hedge) {
+        try {
+            return executorService.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    T value = peerSelector.call(peer, request);
+                    recordLatency(System.nanoTime() - start);
+                    if (result.complete(value) && hedge) {
+                        hedgeWinCount.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    // Only fail once every request sent for this read has failed
+                    lastFailure.set(e);
+                    if (outstanding.decrementAndGet() == 0) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private synchronized void depositBudget() {
+        budget = Math.min(MAX_BUDGET, budget + settings.getBudget());
+    }
+
+    private synchronized boolean withdrawBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        if (settings.getDelay() != null) {
+            return;
+        }
+        long[] window;
+        synchronized (latencies) {
+            latencies[latencyCount % LATENCY_WINDOW] = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+            latencyCount++;
+            // Recomputing the percentile sorts the window, so only do it every so often
+            if (latencyCount < MIN_LATENCY_SAMPLES || latencyCount % MIN_LATENCY_SAMPLES != 0) {
+                return;
+            }
+            window = Arrays.copyOf(latencies, Math.min(latencyCount, LATENCY_WINDOW));
+        }
+        Arrays.sort(window);
+        int index = (int) Math.min(window.length - 1, Math.ceil(settings.getPercentile() * window.length) - 1);
+        percentileDelay = window[Math.max(0, index)];
+    }
+
+}
@@ -0,0 +1,12 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class SignedTransfer<T> {
+    private final int index;
+    private final TransferSpec transfer;
+    private final T transaction;
+    private final String transactionId;
+    private final Exception error;
+}
@@ -0,0 +1,54 @@
+package ark_java_client;
+
+import lombok.Getter;
+import org.bitcoinj.core.ECKey;
+
+/**
+ * Key pair, public key and address derived once from a passphrase for a given network, so repeated
+ * signing does not re-derive them. The passphrase itself is not kept, and the key pair is only handed
+ * to the signers. Call {@link #destroy()} once the identity is no longer needed.
+ */
+@Getter
+public class SigningIdentity {
+
+    @Getter(lombok.AccessLevel.NONE)
+    private ECKey keys;
+    @Getter(lombok.AccessLevel.PACKAGE)
+    private final byte[] publicKeyBytes;
+    private final String publicKey;
+    private final String address;
+    private final Integer network;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private volatile boolean destroyed = false;
+
+    public SigningIdentity(ECKey keys, byte[] publicKeyBytes, String publicKey, String address, Integer network) {
+        this.keys = keys;
+        this.publicKeyBytes = publicKeyBytes;
+        this.publicKey = publicKey;
+        this.address = address;
+        this.network = network;
+    }
+
+    // Read under the same lock as destroy() so a concurrent eviction can't hand out a cleared key
+    synchronized ECKey getKeys() {
+        checkNotDestroyed();
+        return keys;
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    public synchronized void destroy() {
+        destroyed = true;
+        keys = null;
+    }
+
+    private void checkNotDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("Signing identity for address " + address + " has been destroyed");
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package ark_java_client;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of signing identities. Entries are keyed by a keyed hash of the passphrase so
+ * neither the passphrase nor its private key is held as a map key, and evicted or expired
+ * identities are destroyed.
+ */
+public class SigningIdentityCache {
+
+    private final int maximumSize;
+    private final long expiry;
+    private final Function<String, SigningIdentity> identityLoader;
+    private final SecretKeySpec keySecret;
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    public SigningIdentityCache(ArkNetworkSigningSettings signingSettings, Function<String, SigningIdentity> identityLoader) {
+        this.maximumSize = signingSettings.getIdentityCacheSize();
+        this.expiry = signingSettings.getIdentityCacheExpiry();
+        this.identityLoader = identityLoader;
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.keySecret = new SecretKeySpec(secret, "HmacSHA256");
+
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > maximumSize) {
+                    eldest.getValue().signingIdentity.destroy();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public SigningIdentity get(String passphrase) {
+        if (maximumSize <= 0) {
+            return identityLoader.apply(passphrase);
+        }
+
+        String key = getKey(passphrase);
+        synchronized (this) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && !entry.isExpired()) {
+                return entry.signingIdentity;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                entry.signingIdentity.destroy();
+            }
+        }
+
+        // Derive outside the lock so a miss doesn't stall signing with other identities
+        SigningIdentity signingIdentity = identityLoader.apply(passphrase);
+        synchronized (this) {
+            CacheEntry existing = entries.get(key);
+            if (existing != null && !existing.isExpired()) {
+                signingIdentity.destroy();
+                return existing.signingIdentity;
+            }
+            entries.put(key, new CacheEntry(signingIdentity, System.currentTimeMillis() + expiry));
+        }
+        return signingIdentity;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void invalidateAll() {
+        entries.values().forEach(entry -> entry.signingIdentity.destroy());
+        entries.clear();
+    }
+
+    private String getKey(String passphrase) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(keySecret);
+            return Base64.getEncoder().encodeToString(mac.doFinal(passphrase.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Failed to hash passphrase for signing identity cache", e);
+        }
+    }
+
+    private static class CacheEntry {
+        private final SigningIdentity signingIdentity;
+        private final long expiresAt;
+
+        CacheEntry(SigningIdentity signingIdentity, long expiresAt) {
+            this.signingIdentity = signingIdentity;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package ark_java_client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Signs transfers in parallel on a dedicated pool of signing threads and hands the signed
+ * transactions to a consumer in batches. Signed transactions pass through a bounded queue, so a slow
+ * consumer blocks the signing threads instead of letting signed transactions pile up in memory.
+ */
+@Slf4j
+public class SigningPipeline<T> implements AutoCloseable {
+
+    private final TransactionSigner<T> transactionSigner;
+    private final int signingThreads;
+    private final int queueCapacity;
+    private final ExecutorService executorService;
+
+    public SigningPipeline(TransactionSigner<T> transactionSigner, ArkNetworkSigningSettings signingSettings) {
+        this.transactionSigner = transactionSigner;
+        this.signingThreads = signingSettings.getThreads();
+        this.queueCapacity = signingSettings.getQueueCapacity();
+
+        // Idle threads time out, so a pipeline that is never closed doesn't hold on to them
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(signingThreads, signingThreads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "ark-signing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.executorService = threadPoolExecutor;
+    }
+
+    public void process(Stream<TransferSpec> transfers, int batchSize, long batchLinger, Consumer<List<SignedTransfer<T>>> batchConsumer) {
+        Iterator<TransferSpec> transferIterator = transfers.iterator();
+        AtomicInteger nextIndex = new AtomicInteger();
+        BlockingQueue<SignedTransfer<T>> signedTransfers = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger runningWorkers = new AtomicInteger(signingThreads);
+        AtomicBoolean aborted = new AtomicBoolean();
+        SignedTransfer<T> endOfStream = new SignedTransfer<>(-1, null, null, null, null);
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < signingThreads; i++) {
+            workers.add(executorService.submit(() -> {
+                try {
+                    while (true) {
+                        int index;
+                        TransferSpec transfer;
+                        synchronized (transferIterator) {
+                            if (!transferIterator.hasNext()) {
+                                break;
+                            }
+                            transfer = transferIterator.next();
+                            index = nextIndex.getAndIncrement();
+                        }
+                        signedTransfers.put(sign(index, transfer));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    if (runningWorkers.decrementAndGet() == 0 && !aborted.get()) {
+                        putUninterruptibly(signedTransfers, endOfStream);
+                    }
+                }
+            }));
+        }
+
+        try {
+            List<SignedTransfer<T>> batch = new ArrayList<>(batchSize);
+            boolean done = false;
+            while (!done) {
+                SignedTransfer<T> signedTransfer = batch.isEmpty()
+                        ? signedTransfers.take()
+                        : signedTransfers.poll(batchLinger, TimeUnit.MILLISECONDS);
+
+                if (signedTransfer == endOfStream) {
+                    done = true;
+                } else if (signedTransfer != null) {
+                    batch.add(signedTransfer);
+                }
+
+                // Send a batch once it is full, or when no more transfers arrived within the linger time
+                if (batch.size() >= batchSize || (signedTransfer == null || done) && !batch.isEmpty()) {
+                    batchConsumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(workers, signedTransfers, aborted);
+            throw new RuntimeException("Interrupted while waiting for signed transactions", e);
+        } catch (RuntimeException e) {
+            abort(workers, signedTransfers, aborted);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    private SignedTransfer<T> sign(int index, TransferSpec transfer) {
+        try {
+            T transaction = transactionSigner.sign(transfer);
+            return new SignedTransfer<>(index, transfer, transaction, transactionSigner.getTransactionId(transaction), null);
+        } catch (Exception e) {
+            log.warn("Failed to sign transaction to " + transfer.getRecipientId() + ": " + e.getMessage(), e);
+            return new SignedTransfer<>(index, transfer, null, null, e);
+        }
+    }
+
+    private void abort(List<Future<?>> workers, BlockingQueue<SignedTransfer<T>> signedTransfers, AtomicBoolean aborted) {
+        aborted.set(true);
+        workers.forEach(worker -> worker.cancel(true));
+        // Make room so no signing thread stays blocked on the queue
+        signedTransfers.clear();
+    }
+
+    private static <E> void putUninterruptibly(BlockingQueue<E> queue, E element) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(element);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package ark_java_client;
 
 import lombok.Data;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -21,4 +22,28 @@ public class Transaction {
     private Integer confirmations;
     private String vendorField;
     private Object asset;    
+
+    /**
+     * A copy that can be changed without changing this transaction. The asset is left as the json
+     * parser built it and only read, so it is shared.
+     */
+    public Transaction copy() {
+        Transaction copy = new Transaction();
+        copy.setId(id);
+        copy.setHeight(height);
+        copy.setBlockId(blockId);
+        copy.setType(type);
+        copy.setTimestamp(timestamp);
+        copy.setSenderPublicKey(senderPublicKey);
+        copy.setSenderId(senderId);
+        copy.setRecipientId(recipientId);
+        copy.setAmount(amount);
+        copy.setFee(fee);
+        copy.setSignature(signature);
+        copy.setSignatures(signatures != null ? new ArrayList<>(signatures) : null);
+        copy.setConfirmations(confirmations);
+        copy.setVendorField(vendorField);
+        copy.setAsset(asset);
+        return copy;
+    }
 }
@@ -0,0 +1,12 @@
+package ark_java_client;
+
+import lombok.Data;
+
+@Data
+public class TransactionCacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long negativeHitCount;
+    private final long evictionCount;
+    private final long size;
+}
@@ -0,0 +1,177 @@
+package ark_java_client;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates transaction history newest first, one page at a time, fetching the next page in the
+ * background while the current one is consumed.
+ *
+ * The peers only page by offset, so pages are anchored on the (timestamp, id) of the last returned
+ * transaction instead: each page overlaps the previous one, transactions at or before the cursor are
+ * skipped, and the offset is moved when new or rolled back transactions have shifted the history.
+ */
+public class TransactionHistoryIterator implements Iterator<Transaction>, AutoCloseable {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService prefetchExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ark-history-prefetch-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BiFunction<Integer, Integer, List<Transaction>> pageLoader;
+    private final int pageSize;
+    private final Deque<Transaction> buffer = new ArrayDeque<>();
+
+    private int requestOffset = 0;
+    private boolean exhausted = false;
+    private Integer cursorTimestamp;
+    private final Set<String> cursorTransactionIds = new HashSet<>();
+
+    private CompletableFuture<List<Transaction>> prefetchedPage;
+    private int prefetchedOffset = -1;
+
+    public TransactionHistoryIterator(BiFunction<Integer, Integer, List<Transaction>> pageLoader) {
+        this(pageLoader, DEFAULT_PAGE_SIZE);
+    }
+
+    public TransactionHistoryIterator(BiFunction<Integer, Integer, List<Transaction>> pageLoader, int pageSize) {
+        if (pageSize < 2) {
+            throw new IllegalArgumentException("Page size must be at least 2");
+        }
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+    }
+
+    public static Stream<Transaction> stream(BiFunction<Integer, Integer, List<Transaction>> pageLoader) {
+        return stream(pageLoader, DEFAULT_PAGE_SIZE);
+    }
+
+    public static Stream<Transaction> stream(BiFunction<Integer, Integer, List<Transaction>> pageLoader, int pageSize) {
+        TransactionHistoryIterator iterator = new TransactionHistoryIterator(pageLoader, pageSize);
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(iterator::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (buffer.isEmpty() && !exhausted) {
+            loadPage();
+        }
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public Transaction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Transaction transaction = buffer.poll();
+        if (!Objects.equals(transaction.getTimestamp(), cursorTimestamp)) {
+            cursorTimestamp = transaction.getTimestamp();
+            cursorTransactionIds.clear();
+        }
+        cursorTransactionIds.add(transaction.getId());
+        return transaction;
+    }
+
+    @Override
+    public void close() {
+        exhausted = true;
+        buffer.clear();
+        if (prefetchedPage != null) {
+            prefetchedPage.cancel(true);
+            prefetchedPage = null;
+        }
+    }
+
+    private void loadPage() {
+        List<Transaction> page = takePage(requestOffset);
+        boolean lastPage = page.size() < pageSize;
+
+        if (cursorTimestamp != null && requestOffset > 0 && !page.isEmpty() && isAfterCursor(page.get(0))) {
+            // Nothing in the page overlaps what we already returned, so transactions were rolled back
+            // and shifted the history towards the front. Step back to find the cursor again.
+            requestOffset = Math.max(0, requestOffset - pageSize / 2);
+            return;
+        }
+
+        List<Transaction> unseen = new ArrayList<>();
+        for (Transaction transaction : page) {
+            if (cursorTimestamp == null || isAfterCursor(transaction)) {
+                unseen.add(transaction);
+            }
+        }
+        buffer.addAll(unseen);
+
+        if (lastPage) {
+            exhausted = true;
+            return;
+        }
+
+        // Overlap the next page with the tail of this one so shifts from new transactions are detected
+        int overlap = Math.min(pageSize / 2, getTrailingTimestampCount(page));
+        requestOffset = requestOffset + page.size() - overlap;
+        prefetch(requestOffset);
+    }
+
+    private boolean isAfterCursor(Transaction transaction) {
+        if (transaction.getTimestamp() == null || cursorTimestamp == null) {
+            return !cursorTransactionIds.contains(transaction.getId());
+        }
+        if (transaction.getTimestamp() < cursorTimestamp) {
+            return true;
+        }
+        return transaction.getTimestamp().equals(cursorTimestamp) && !cursorTransactionIds.contains(transaction.getId());
+    }
+
+    private static int getTrailingTimestampCount(List<Transaction> page) {
+        // Transactions sharing a timestamp can come back in any order, so overlap all of them
+        Integer lastTimestamp = page.get(page.size() - 1).getTimestamp();
+        int count = 0;
+        for (int i = page.size() - 1; i >= 0 && Objects.equals(page.get(i).getTimestamp(), lastTimestamp); i--) {
+            count++;
+        }
+        return count + 1;
+    }
+
+    private void prefetch(int offset) {
+        prefetchedOffset = offset;
+        prefetchedPage = CompletableFuture.supplyAsync(() -> pageLoader.apply(pageSize, offset), prefetchExecutor);
+    }
+
+    private List<Transaction> takePage(int offset) {
+        CompletableFuture<List<Transaction>> page = prefetchedPage;
+        prefetchedPage = null;
+        if (page == null || prefetchedOffset != offset) {
+            if (page != null) {
+                page.cancel(true);
+            }
+            return nonNull(pageLoader.apply(pageSize, offset));
+        }
+        try {
+            return nonNull(page.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static List<Transaction> nonNull(List<Transaction> page) {
+        return page != null ? page : Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,6 @@
+package ark_java_client;
+
+public interface TransactionSigner<T> {
+    T sign(TransferSpec transfer);
+    String getTransactionId(T transaction);
+}
@@ -0,0 +1,452 @@
+package ark_java_client;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only on-disk store of transactions in memory-mapped segment files, with in-memory indexes
+ * by id, recipient, sender and block height that are rebuilt from the segments on open.
+ *
+ * Each record is a length, a CRC32 of the payload and the transaction as json. A zero length marks
+ * the end of a segment; a record with a bad checksum is treated as a torn write and truncated.
+ *
+ * The directory is locked while the store is open, so only one store at a time can write to it.
+ */
+@Slf4j
+public class TransactionStore implements AutoCloseable {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final String METADATA_FILE = "synced-heights.properties";
+    private static final String LOCK_FILE = "index.lock";
+    private static final String ADDRESS_KEY_PREFIX = "address.";
+    private static final String CHAIN_HEIGHT_KEY = "chainHeight";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Long> positionsById = new HashMap<>();
+    private final Map<String, NavigableSet<RecipientEntry>> entriesByRecipient = new HashMap<>();
+    private final Map<String, List<Long>> positionsBySender = new HashMap<>();
+    private final TreeMap<Integer, List<Long>> positionsByHeight = new TreeMap<>();
+    private final Properties syncedHeights = new Properties();
+
+    private int writeOffset = 0;
+    private FileChannel lockChannel;
+    private FileLock directoryLock;
+    private boolean closed = false;
+
+    public TransactionStore(ArkNetworkTransactionIndexSettings transactionIndexSettings) {
+        this.directory = Paths.get(transactionIndexSettings.getDirectory());
+        this.segmentSize = transactionIndexSettings.getSegmentSize();
+        try {
+            Files.createDirectories(directory);
+            lockDirectory();
+            open();
+        } catch (IOException e) {
+            releaseDirectoryLock();
+            throw new RuntimeException("Failed to open transaction index in " + directory, e);
+        } catch (RuntimeException e) {
+            releaseDirectoryLock();
+            throw e;
+        }
+    }
+
+    public boolean contains(String transactionId) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return positionsById.containsKey(transactionId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return positionsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void append(Transaction transaction) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(transaction);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize transaction " + transaction.getId(), e);
+        }
+        if (payload.length + RECORD_HEADER_SIZE + 4 > segmentSize) {
+            throw new IllegalArgumentException("Transaction " + transaction.getId() + " does not fit in a segment");
+        }
+
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            if (positionsById.containsKey(transaction.getId())) {
+                return;
+            }
+            // Keep room for the zero length that marks the end of the segment
+            if (segments.isEmpty() || writeOffset + RECORD_HEADER_SIZE + payload.length + 4 > segmentSize) {
+                segments.add(mapSegment(segments.size()));
+                writeOffset = 0;
+            }
+            MappedByteBuffer segment = segments.get(segments.size() - 1);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            segment.position(writeOffset + 4);
+            segment.putInt((int) crc.getValue());
+            segment.put(payload);
+            // Publish the length last so a crash mid-write leaves the end marker in place
+            segment.putInt(writeOffset, payload.length);
+
+            long position = ((long) (segments.size() - 1) << 32) | writeOffset;
+            writeOffset += RECORD_HEADER_SIZE + payload.length;
+            index(transaction, position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Transaction get(String transactionId) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            Long position = positionsById.get(transactionId);
+            return position != null ? read(position) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Transactions to the address, newest timestamp first.
+     */
+    public List<Transaction> getByRecipient(String recipientAddress) {
+        return getByRecipient(recipientAddress, 0, null);
+    }
+
+    /**
+     * A page of the transactions to the address, newest timestamp first. Only the records on the page are read.
+     */
+    public List<Transaction> getByRecipient(String recipientAddress, int offset, Integer limit) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return entriesByRecipient.getOrDefault(recipientAddress, Collections.emptyNavigableSet()).stream()
+                .skip(offset)
+                .limit(limit != null ? limit : Long.MAX_VALUE)
+                .map(entry -> read(entry.position))
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * How many transactions to the address have a newer timestamp than the given one. A null timestamp
+     * counts as older than any other.
+     */
+    public int countByRecipientNewerThan(String recipientAddress, Integer timestamp) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            NavigableSet<RecipientEntry> entries = entriesByRecipient.get(recipientAddress);
+            if (entries == null) {
+                return 0;
+            }
+            return entries.headSet(new RecipientEntry(timestamp, Long.MIN_VALUE), false).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Transaction> getBySender(String senderAddress) {
+        return getAll(positionsBySender, senderAddress);
+    }
+
+    public List<Transaction> getByHeight(int fromHeight, int toHeight) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return positionsByHeight.subMap(fromHeight, true, toHeight, true).values().stream()
+                .flatMap(List::stream)
+                .map(this::read)
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Height up to which all transactions to the address have been indexed, or null if it was never synced.
+     */
+    public Long getSyncedHeight(String address) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            String height = syncedHeights.getProperty(ADDRESS_KEY_PREFIX + address);
+            return height != null ? Long.valueOf(height) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Addresses that have been synced at least once.
+     */
+    public List<String> getSyncedAddresses() {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return syncedHeights.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(ADDRESS_KEY_PREFIX))
+                .map(key -> key.substring(ADDRESS_KEY_PREFIX.length()))
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Long getChainHeight() {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            String height = syncedHeights.getProperty(CHAIN_HEIGHT_KEY);
+            return height != null ? Long.valueOf(height) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void setSyncedHeight(String address, long syncedHeight, long chainHeight) {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            // Make sure the records are on disk before claiming they are synced
+            segments.forEach(MappedByteBuffer::force);
+            syncedHeights.setProperty(ADDRESS_KEY_PREFIX + address, Long.toString(syncedHeight));
+            syncedHeights.setProperty(CHAIN_HEIGHT_KEY, Long.toString(chainHeight));
+            writeMetadata();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the segments and releases the directory. Using the store after it is closed throws an
+     * {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            segments.forEach(MappedByteBuffer::force);
+            segments.clear();
+            writeOffset = 0;
+            releaseDirectoryLock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Transaction index in " + directory + " is closed");
+        }
+    }
+
+    private void lockDirectory() throws IOException {
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            directoryLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Already locked by another store in this JVM
+            directoryLock = null;
+        }
+        if (directoryLock == null) {
+            releaseDirectoryLock();
+            throw new IllegalStateException("Transaction index in " + directory + " is already open in another client");
+        }
+    }
+
+    private void releaseDirectoryLock() {
+        try {
+            if (directoryLock != null) {
+                directoryLock.release();
+            }
+            if (lockChannel != null) {
+                lockChannel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to release lock on transaction index in " + directory, e);
+        }
+        directoryLock = null;
+        lockChannel = null;
+    }
+
+    private void open() throws IOException {
+        Path metadataFile = directory.resolve(METADATA_FILE);
+        if (Files.exists(metadataFile)) {
+            try (InputStream inputStream = Files.newInputStream(metadataFile)) {
+                syncedHeights.load(inputStream);
+            }
+        }
+
+        for (int segmentIndex = 0; Files.exists(getSegmentPath(segmentIndex)); segmentIndex++) {
+            MappedByteBuffer segment = mapSegment(segmentIndex);
+            segments.add(segment);
+            writeOffset = scan(segment, segmentIndex);
+        }
+        log.info("Opened transaction index in " + directory + " with " + positionsById.size() + " transactions");
+    }
+
+    private int scan(MappedByteBuffer segment, int segmentIndex) {
+        int offset = 0;
+        while (offset + RECORD_HEADER_SIZE <= segmentSize) {
+            int length = segment.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > segmentSize) {
+                break;
+            }
+            long position = ((long) segmentIndex << 32) | offset;
+            Transaction transaction = readRecord(segment, offset);
+            if (transaction == null) {
+                log.warn("Truncating transaction index segment " + segmentIndex + " at torn record at offset " + offset);
+                segment.putInt(offset, 0);
+                break;
+            }
+            index(transaction, position);
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private void index(Transaction transaction, long position) {
+        positionsById.put(transaction.getId(), position);
+        if (transaction.getRecipientId() != null) {
+            entriesByRecipient.computeIfAbsent(transaction.getRecipientId(), key -> new TreeSet<>())
+                .add(new RecipientEntry(transaction.getTimestamp(), position));
+        }
+        if (transaction.getSenderId() != null) {
+            positionsBySender.computeIfAbsent(transaction.getSenderId(), key -> new ArrayList<>()).add(position);
+        }
+        if (transaction.getHeight() != null) {
+            positionsByHeight.computeIfAbsent(transaction.getHeight(), key -> new ArrayList<>()).add(position);
+        }
+    }
+
+    private List<Transaction> getAll(Map<String, List<Long>> positionsByAddress, String address) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return positionsByAddress.getOrDefault(address, Collections.emptyList()).stream()
+                .map(this::read)
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Transaction read(long position) {
+        Transaction transaction = readRecord(segments.get((int) (position >>> 32)), (int) position);
+        if (transaction == null) {
+            throw new IllegalStateException("Corrupt transaction index record at position " + position);
+        }
+        return transaction;
+    }
+
+    private Transaction readRecord(MappedByteBuffer segment, int offset) {
+        int length = segment.getInt(offset);
+        int checksum = segment.getInt(offset + 4);
+        byte[] payload = new byte[length];
+        // Read through a duplicate so concurrent readers don't share the buffer position
+        ByteBuffer buffer = segment.duplicate();
+        buffer.position(offset + RECORD_HEADER_SIZE);
+        buffer.get(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(payload, Transaction.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private MappedByteBuffer mapSegment(int segmentIndex) {
+        try (FileChannel channel = FileChannel.open(getSegmentPath(segmentIndex),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to map transaction index segment " + segmentIndex, e);
+        }
+    }
+
+    private Path getSegmentPath(int segmentIndex) {
+        return directory.resolve(String.format("segment-%06d.dat", segmentIndex));
+    }
+
+    private void writeMetadata() {
+        Path metadataFile = directory.resolve(METADATA_FILE);
+        Path tempFile = directory.resolve(METADATA_FILE + ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                syncedHeights.store(outputStream, null);
+            }
+            Files.move(tempFile, metadataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write transaction index metadata", e);
+        }
+    }
+
+    /**
+     * Position of a transaction in the recipient index, ordered newest timestamp first and then in the
+     * order the transactions were appended.
+     */
+    private static class RecipientEntry implements Comparable<RecipientEntry> {
+        private final int timestamp;
+        private final long position;
+
+        private RecipientEntry(Integer timestamp, long position) {
+            this.timestamp = timestamp != null ? timestamp : Integer.MIN_VALUE;
+            this.position = position;
+        }
+
+        @Override
+        public int compareTo(RecipientEntry other) {
+            int byTimestamp = Integer.compare(other.timestamp, timestamp);
+            return byTimestamp != 0 ? byTimestamp : Long.compare(position, other.position);
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package ark_java_client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Reads the {@code transactions} array of a transactions response token by token and hands each
+ * transaction to a consumer as soon as it is parsed, so a page is never held in memory as a whole.
+ */
+public class TransactionsResponseExtractor implements ResponseExtractor<Integer> {
+
+    private static final ObjectReader transactionReader = new ObjectMapper()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .readerFor(Transaction.class);
+
+    private final Consumer<Transaction> consumer;
+    private final Consumer<CompactTransaction> compactConsumer;
+    private Long maxHeight;
+
+    public TransactionsResponseExtractor(Consumer<Transaction> consumer) {
+        this(consumer, null);
+    }
+
+    private TransactionsResponseExtractor(Consumer<Transaction> consumer, Consumer<CompactTransaction> compactConsumer) {
+        this.consumer = consumer;
+        this.compactConsumer = compactConsumer;
+    }
+
+    /**
+     * Hands over each transaction in compact form. Its asset and signatures are copied as json without
+     * being decoded.
+     */
+    public static TransactionsResponseExtractor compact(Consumer<CompactTransaction> consumer) {
+        return new TransactionsResponseExtractor(null, consumer);
+    }
+
+    /**
+     * Highest chain height implied by the parsed transactions, or null if none carried a height.
+     */
+    public Long getMaxHeight() {
+        return maxHeight;
+    }
+
+    @Override
+    public Integer extractData(ClientHttpResponse response) throws IOException {
+        try (JsonParser parser = transactionReader.getFactory().createParser(response.getBody())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected transactions response to be a json object");
+            }
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (!fieldName.equals("transactions") || valueToken != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonToken elementToken;
+                while ((elementToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (elementToken != JsonToken.START_OBJECT) {
+                        // Stopping here would pass off a truncated page as a complete one
+                        throw new JsonParseException(parser, "Expected transaction object in transactions array but got " + elementToken);
+                    }
+                    if (compactConsumer != null) {
+                        CompactTransaction transaction = readCompactTransaction(parser);
+                        recordHeight(transaction.getHeight(), transaction.getConfirmations());
+                        compactConsumer.accept(transaction);
+                    } else {
+                        Transaction transaction = transactionReader.readValue(parser);
+                        if (transaction.getHeight() != null && transaction.getConfirmations() != null) {
+                            recordHeight(transaction.getHeight(), transaction.getConfirmations());
+                        }
+                        consumer.accept(transaction);
+                    }
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private CompactTransaction readCompactTransaction(JsonParser parser) throws IOException {
+        // Asset and signatures go to their own json object, the remaining fields are bound as usual
+        TokenBuffer fields = new TokenBuffer(parser);
+        ByteArrayOutputStream extras = null;
+        JsonGenerator extrasGenerator = null;
+        fields.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if ((fieldName.equals("asset") || fieldName.equals("signatures")) && valueToken != JsonToken.VALUE_NULL) {
+                if (extrasGenerator == null) {
+                    extras = new ByteArrayOutputStream();
+                    extrasGenerator = parser.getCodec().getFactory().createGenerator(extras);
+                    extrasGenerator.writeStartObject();
+                }
+                extrasGenerator.writeFieldName(fieldName);
+                extrasGenerator.copyCurrentStructure(parser);
+            } else {
+                fields.writeFieldName(fieldName);
+                fields.copyCurrentStructure(parser);
+            }
+        }
+        fields.writeEndObject();
+        if (extrasGenerator != null) {
+            extrasGenerator.writeEndObject();
+            extrasGenerator.close();
+        }
+
+        Transaction transaction;
+        try (JsonParser fieldsParser = fields.asParser(parser.getCodec())) {
+            transaction = transactionReader.readValue(fieldsParser);
+        }
+        return CompactTransaction.of(transaction, extras != null ? extras.toByteArray() : null);
+    }
+
+    private void recordHeight(int transactionHeight, int confirmations) {
+        if (transactionHeight < 0 || confirmations < 0) {
+            return;
+        }
+        long height = transactionHeight + confirmations - 1L;
+        if (maxHeight == null || height > maxHeight) {
+            maxHeight = height;
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package ark_java_client;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TransferResult {
+    private TransferSpec transfer;
+    private String transactionId;
+    private Boolean accepted = false;
+    private Integer acceptedPeers = 0;
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,59 @@
+package ark_java_client;
+
+import java.util.*;
+
+/**
+ * Maps per-peer batch broadcast responses back onto the transfers that produced each transaction,
+ * keyed by the transfer's position in the input list.
+ */
+class TransferResultCollector {
+
+    private final List<TransferResult> transferResults = new ArrayList<>();
+    private final Map<String, Integer> indexById = new HashMap<>();
+
+    TransferResultCollector(List<TransferSpec> transfers) {
+        for (TransferSpec transfer : transfers) {
+            TransferResult transferResult = new TransferResult();
+            transferResult.setTransfer(transfer);
+            transferResults.add(transferResult);
+        }
+    }
+
+    /**
+     * Records a signed transfer, returning whether it should be broadcast. Identical transfers signed
+     * within the same second produce the same transaction, so only the first of them is sent.
+     */
+    synchronized boolean signed(SignedTransfer<?> signedTransfer) {
+        TransferResult transferResult = transferResults.get(signedTransfer.getIndex());
+        if (signedTransfer.getError() != null) {
+            transferResult.getErrors().add("signing failed: " + signedTransfer.getError().getMessage());
+            return false;
+        }
+        transferResult.setTransactionId(signedTransfer.getTransactionId());
+        Integer firstIndex = indexById.putIfAbsent(signedTransfer.getTransactionId(), signedTransfer.getIndex());
+        if (firstIndex != null) {
+            transferResult.getErrors().add("duplicate of transfer " + firstIndex + ", not broadcast");
+            return false;
+        }
+        return true;
+    }
+
+    synchronized void accept(int index) {
+        TransferResult transferResult = transferResults.get(index);
+        transferResult.setAccepted(true);
+        transferResult.setAcceptedPeers(transferResult.getAcceptedPeers() + 1);
+    }
+
+    synchronized void reject(Peer peer, int index, String reason) {
+        transferResults.get(index).getErrors().add(peer.getIp() + ": " + reason);
+    }
+
+    synchronized void rejectAll(Peer peer, Collection<Integer> indexes, String reason) {
+        indexes.forEach(index -> reject(peer, index, reason));
+    }
+
+    synchronized List<TransferResult> getTransferResults() {
+        return new ArrayList<>(transferResults);
+    }
+
+}
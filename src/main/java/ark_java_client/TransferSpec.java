@@ -0,0 +1,36 @@
+package ark_java_client;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A transfer to sign and broadcast. Equality is identity: two transfers with the same recipient,
+ * amount and vendor field are still two payments.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = {"passphrase", "signingIdentity"})
+public class TransferSpec {
+    private String recipientId;
+    private Long satoshiAmount;
+    private String vendorField;
+    private String passphrase;
+    private SigningIdentity signingIdentity;
+
+    public TransferSpec(String recipientId, Long satoshiAmount, String vendorField, String passphrase) {
+        this.recipientId = recipientId;
+        this.satoshiAmount = satoshiAmount;
+        this.vendorField = vendorField;
+        this.passphrase = passphrase;
+    }
+
+    public TransferSpec(String recipientId, Long satoshiAmount, String vendorField, SigningIdentity signingIdentity) {
+        this.recipientId = recipientId;
+        this.satoshiAmount = satoshiAmount;
+        this.vendorField = vendorField;
+        this.signingIdentity = signingIdentity;
+    }
+}
@@ -0,0 +1,24 @@
+package ark_java_client.lib;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Slf4j
+public class Closeables {
+
+    /**
+     * Closes the resources in reverse order, so a resource is closed before the ones it was created
+     * from. A failure is logged and the rest are still closed.
+     */
+    public static void closeAll(List<? extends AutoCloseable> resources) {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            try {
+                resources.get(i).close();
+            } catch (Exception e) {
+                log.warn("Failed to close " + resources.get(i) + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+}
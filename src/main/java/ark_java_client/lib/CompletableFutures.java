@@ -0,0 +1,31 @@
+package ark_java_client.lib;
+
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.CompletableFuture;
+
+public class CompletableFutures {
+
+    public static <T> CompletableFuture<T> fromListenableFuture(ListenableFuture<T> listenableFuture) {
+        CompletableFuture<T> completableFuture = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                listenableFuture.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        listenableFuture.addCallback(completableFuture::complete, completableFuture::completeExceptionally);
+        return completableFuture;
+    }
+
+    public static <T, U> CompletableFuture<U> cancelWith(CompletableFuture<U> dependent, CompletableFuture<T> upstream) {
+        // Cancelling a dependent stage does not reach the stage it was derived from, so pass it on explicitly
+        dependent.whenComplete((result, e) -> {
+            if (dependent.isCancelled()) {
+                upstream.cancel(true);
+            }
+        });
+        return dependent;
+    }
+
+}
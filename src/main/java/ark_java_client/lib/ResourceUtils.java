@@ -1,19 +1,48 @@
 package ark_java_client.lib;
 
-import org.springframework.core.io.DefaultResourceLoader;
-
 import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
 
 public class ResourceUtils {
-    
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    /**
+     * Opens a {@code classpath:} resource, a URL such as {@code file:/etc/ark/mainnet.yml}, or
+     * otherwise a resource on the classpath.
+     */
     public static InputStream getInputStream(String filename) {
         InputStream fileInputStream;
         try {
-            fileInputStream = new DefaultResourceLoader().getResource(filename).getInputStream();
+            fileInputStream = openStream(filename);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load file: " + filename, e);
         }
+        if (fileInputStream == null) {
+            throw new RuntimeException("Failed to load file: " + filename + " was not found");
+        }
         return fileInputStream;
     }
-    
+
+    private static InputStream openStream(String filename) throws Exception {
+        if (filename.startsWith(CLASSPATH_PREFIX)) {
+            return getClassLoader().getResourceAsStream(stripLeadingSlash(filename.substring(CLASSPATH_PREFIX.length())));
+        }
+        try {
+            return new URL(filename).openStream();
+        } catch (MalformedURLException e) {
+            return getClassLoader().getResourceAsStream(stripLeadingSlash(filename));
+        }
+    }
+
+    private static ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ResourceUtils.class.getClassLoader();
+    }
+
+    private static String stripLeadingSlash(String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
 }
@@ -0,0 +1,123 @@
+package ark_java_client;
+
+import com.google.common.io.BaseEncoding;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ArkV1TransactionSerializerTest {
+
+    static final String SENDER_PUBLIC_KEY = "034151a3ec46b5670a682b0a63394f863587d1bc97483b1b6c70eb58e7f0aed192";
+    static final String RECIPIENT_ID = "AGeYmgbg2LgGxRW2vNNJvQ88PknEJsYizC";
+    static final long TIMESTAMP = 58926000L;
+    static final long AMOUNT = 123456789L;
+    static final String VENDOR_FIELD = "invoice 2018-0042";
+    static final String MAX_LENGTH_VENDOR_FIELD = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    static final String BYTES_WITHOUT_VENDOR_FIELD = "00b0238303034151a3ec46b5670a682b0a63394f863587d1bc97483b1b6c70eb58e7f0aed19217"
+        + "0995750207ecaf0ccf251c1265b92ad84f553662"
+        + "00000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000"
+        + "15cd5b07000000008096980000000000";
+    static final String BYTES_WITH_VENDOR_FIELD = "00b0238303034151a3ec46b5670a682b0a63394f863587d1bc97483b1b6c70eb58e7f0aed19217"
+        + "0995750207ecaf0ccf251c1265b92ad84f553662"
+        + "696e766f69636520323031382d303034320000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000"
+        + "15cd5b07000000008096980000000000";
+    static final String BYTES_WITH_MAX_LENGTH_VENDOR_FIELD = "00b0238303034151a3ec46b5670a682b0a63394f863587d1bc97483b1b6c70eb58e7f0aed19217"
+        + "0995750207ecaf0ccf251c1265b92ad84f553662"
+        + "30313233343536373839616263646566303132333435363738396162636465663031323334353637383961626364656630313233343536373839616263646566"
+        + "15cd5b07000000008096980000000000";
+
+    static ArkNetwork createArkNetwork() {
+        return new ArkNetwork("1", "http", Collections.emptyList(),
+            "6e84d08bd299ed97c212c886c98a57e36545c8f5d645ca7eeae63a8bd62d8988", 0x17, "2017-03-21 13:00:00", "1.6.1");
+    }
+
+    private final ArkV1TransactionSerializer serializer = new ArkV1TransactionSerializer(createArkNetwork());
+
+    @Test
+    public void serializesTransferWithoutVendorField() {
+        assertBytes(BYTES_WITHOUT_VENDOR_FIELD, createTransaction(null));
+    }
+
+    @Test
+    public void serializesTransferWithVendorField() {
+        assertBytes(BYTES_WITH_VENDOR_FIELD, createTransaction(VENDOR_FIELD));
+    }
+
+    @Test
+    public void serializesMaxLengthVendorField() {
+        assertBytes(BYTES_WITH_MAX_LENGTH_VENDOR_FIELD, createTransaction(MAX_LENGTH_VENDOR_FIELD));
+    }
+
+    @Test
+    public void countsVendorFieldLengthInUtf8Bytes() {
+        // 32 two-byte characters fill the 64 byte field exactly
+        String vendorField = String.join("", Collections.nCopies(32, "é"));
+        byte[] bytes = serializer.toBytes(createTransaction(vendorField), publicKeyBytes());
+        assertEquals(vendorField, new String(bytes, 59, 64, StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOversizedVendorField() {
+        serializer.serialize(createTransaction(MAX_LENGTH_VENDOR_FIELD + "0"), publicKeyBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOversizedMultiByteVendorField() {
+        serializer.serialize(createTransaction(String.join("", Collections.nCopies(33, "é"))), publicKeyBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTimestampOutOfRange() {
+        CreateArkTransactionRequest transaction = createTransaction(null);
+        transaction.setTimestamp(Integer.MAX_VALUE + 1L);
+        serializer.serialize(transaction, publicKeyBytes());
+    }
+
+    @Test
+    public void reusesBufferPerThreadWithoutLeakingPreviousTransaction() {
+        serializer.serialize(createTransaction(MAX_LENGTH_VENDOR_FIELD), publicKeyBytes());
+        assertBytes(BYTES_WITHOUT_VENDOR_FIELD, createTransaction(null));
+    }
+
+    @Test
+    public void computesTimestampFromNetworkEpoch() {
+        // 2017-03-21 13:00:00 UTC
+        long epochMillis = 1490101200000L;
+        assertEquals(0L, serializer.getTimestamp(epochMillis));
+        assertEquals(TIMESTAMP, serializer.getTimestamp(epochMillis + TIMESTAMP * 1000L + 999L));
+    }
+
+    static CreateArkTransactionRequest createTransaction(String vendorField) {
+        CreateArkTransactionRequest transaction = new CreateArkTransactionRequest();
+        transaction.setType((byte) 0);
+        transaction.setRecipientId(RECIPIENT_ID);
+        transaction.setFee(10000000L);
+        transaction.setVendorField(vendorField);
+        transaction.setTimestamp(TIMESTAMP);
+        transaction.setAmount(AMOUNT);
+        transaction.setSenderPublicKey(SENDER_PUBLIC_KEY);
+        return transaction;
+    }
+
+    private void assertBytes(String expectedHex, CreateArkTransactionRequest transaction) {
+        byte[] expected = BaseEncoding.base16().lowerCase().decode(expectedHex);
+        assertArrayEquals(expected, LegacyArkV1Transactions.getBytes(transaction, SENDER_PUBLIC_KEY));
+
+        ByteBuffer buffer = serializer.serialize(transaction, publicKeyBytes());
+        byte[] actual = new byte[buffer.remaining()];
+        buffer.get(actual);
+        assertArrayEquals(expected, actual);
+        assertArrayEquals(expected, serializer.toBytes(transaction, publicKeyBytes()));
+    }
+
+    private static byte[] publicKeyBytes() {
+        return BaseEncoding.base16().lowerCase().decode(SENDER_PUBLIC_KEY);
+    }
+
+}
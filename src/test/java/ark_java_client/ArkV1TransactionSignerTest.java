@@ -0,0 +1,101 @@
+package ark_java_client;
+
+import com.google.common.io.BaseEncoding;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.Sha256Hash;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static ark_java_client.ArkV1TransactionSerializerTest.*;
+import static org.junit.Assert.*;
+
+public class ArkV1TransactionSignerTest {
+
+    private static final String PASSPHRASE = "this is a top secret passphrase";
+
+    private final ArkV1TransactionSigner signer = new ArkV1TransactionSigner(createArkNetwork());
+
+    @Test
+    public void derivesIdentityFromPassphrase() {
+        SigningIdentity signingIdentity = signer.createSigningIdentity(PASSPHRASE);
+        assertEquals(SENDER_PUBLIC_KEY, signingIdentity.getPublicKey());
+        assertEquals("AGeYmgbg2LgGxRW2vNNJvQ88PknEJsYizC", signingIdentity.getAddress());
+    }
+
+    @Test
+    public void signsTransferWithoutVendorField() {
+        assertSigned(null, BYTES_WITHOUT_VENDOR_FIELD,
+            "73ad0157b7643bcda7b62287d5cdddd34729d56c2df6c9229dc748eb822c8762",
+            "304402200157d9de32c983272f8c92ef37e8a1c7916afe967e2fda9d844be448484cc633"
+                + "02205c477e6d084a4f88e559f237cbf183bc89bc03f40c6acb9b0180b577f0bc87db");
+    }
+
+    @Test
+    public void signsTransferWithVendorField() {
+        assertSigned(VENDOR_FIELD, BYTES_WITH_VENDOR_FIELD,
+            "6884aa479f7945aca6d8e88d85b646af476575c9f3bfbf0999c3489c4a8bd69a",
+            "3045022100c2c7202c9e433e3b73f8c65529385323c53b6eab31f921885b628a7b5599b82d"
+                + "02205afc0ce35526ac0296c2ae104c5e54ac5e7bd92741bb0c7818097e606f321ea7");
+    }
+
+    @Test
+    public void signsTransferWithMaxLengthVendorField() {
+        assertSigned(MAX_LENGTH_VENDOR_FIELD, BYTES_WITH_MAX_LENGTH_VENDOR_FIELD,
+            "98bee14e8e5034a24a05df5bcd33419835b3f054afa8de8a021dc43ba9d4fffd",
+            "304402203ab082d044bd28a5c46328d6fcb5d2187a9261747edcee41243e3c7e34ee0feb"
+                + "02200e27d6ac42408796168c9e94423d774a006d952c4897102204e423181cf36ff0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOversizedVendorField() {
+        // The old path silently left an oversized vendor field out of the signed bytes
+        signer.sign(RECIPIENT_ID, AMOUNT, MAX_LENGTH_VENDOR_FIELD + "0", PASSPHRASE);
+    }
+
+    @Test
+    public void signsWithCurrentTimestamp() {
+        ArkV1TransactionSerializer serializer = new ArkV1TransactionSerializer(createArkNetwork());
+        long before = serializer.getTimestamp();
+        CreateArkTransactionRequest transaction = signer.sign(RECIPIENT_ID, AMOUNT, VENDOR_FIELD, PASSPHRASE);
+        long after = serializer.getTimestamp();
+
+        assertTrue(transaction.getTimestamp() >= before && transaction.getTimestamp() <= after);
+        CreateArkTransactionRequest expected = LegacyArkV1Transactions.sign(RECIPIENT_ID, AMOUNT, VENDOR_FIELD, PASSPHRASE,
+            transaction.getTimestamp());
+        assertEquals(expected.getId(), transaction.getId());
+        assertEquals(expected.getSignature(), transaction.getSignature());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsIdentityForOtherNetwork() {
+        ArkNetwork devnet = new ArkNetwork("1", "http", Collections.emptyList(),
+            "578e820911f24e039733b45e4882b73e301f813a0d2c31330dafda84534ffa23", 0x1e, "2017-03-21 13:00:00", "1.1.1");
+        SigningIdentity devnetIdentity = new ArkV1TransactionSigner(devnet).createSigningIdentity(PASSPHRASE);
+        signer.sign(RECIPIENT_ID, AMOUNT, null, devnetIdentity);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsDestroyedIdentity() {
+        SigningIdentity signingIdentity = signer.createSigningIdentity(PASSPHRASE);
+        signingIdentity.destroy();
+        signer.sign(RECIPIENT_ID, AMOUNT, null, signingIdentity);
+    }
+
+    private void assertSigned(String vendorField, String expectedBytes, String expectedId, String expectedSignature) {
+        CreateArkTransactionRequest expected = LegacyArkV1Transactions.sign(RECIPIENT_ID, AMOUNT, vendorField, PASSPHRASE, TIMESTAMP);
+        assertEquals(expectedId, expected.getId());
+        assertEquals(expectedSignature, expected.getSignature());
+
+        CreateArkTransactionRequest transaction = signer.sign(RECIPIENT_ID, AMOUNT, vendorField,
+            signer.createSigningIdentity(PASSPHRASE), TIMESTAMP);
+        assertEquals(expected, transaction);
+
+        byte[] bytes = BaseEncoding.base16().lowerCase().decode(expectedBytes);
+        assertEquals(expectedId, BaseEncoding.base16().lowerCase().encode(Sha256Hash.hash(bytes)));
+        ECKey publicKey = ECKey.fromPublicOnly(BaseEncoding.base16().lowerCase().decode(SENDER_PUBLIC_KEY));
+        assertTrue(publicKey.verify(Sha256Hash.of(bytes),
+            ECKey.ECDSASignature.decodeFromDER(BaseEncoding.base16().lowerCase().decode(transaction.getSignature()))));
+    }
+
+}
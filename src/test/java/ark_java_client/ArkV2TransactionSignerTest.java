@@ -0,0 +1,56 @@
+package ark_java_client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.arkecosystem.crypto.identities.Address;
+import org.arkecosystem.crypto.transactions.builder.Transfer;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static ark_java_client.ArkV1TransactionSerializerTest.*;
+import static org.junit.Assert.*;
+
+public class ArkV2TransactionSignerTest {
+
+    private static final String PASSPHRASE = "this is a top secret passphrase";
+
+    private final ArkNetwork arkNetwork = createArkNetwork();
+    private final ArkV2TransactionSigner signer = new ArkV2TransactionSigner(arkNetwork);
+
+    @Test
+    public void derivesIdentityFromPassphrase() {
+        SigningIdentity signingIdentity = signer.createSigningIdentity(PASSPHRASE);
+        assertEquals(SENDER_PUBLIC_KEY, signingIdentity.getPublicKey());
+        assertEquals(Address.fromPassphrase(PASSPHRASE, arkNetwork.getPubKeyHash()), signingIdentity.getAddress());
+    }
+
+    @Test
+    public void signsLikeLibraryFromPassphrase() throws IOException {
+        ArkV2SignedTransaction transaction = signer.sign(RECIPIENT_ID, AMOUNT, VENDOR_FIELD, signer.createSigningIdentity(PASSPHRASE));
+        JsonNode json = new ObjectMapper().readTree(transaction.getJson());
+
+        Transfer transferBuilder = new Transfer();
+        transferBuilder.transaction.network = arkNetwork.getPubKeyHash();
+        transferBuilder.transaction.timestamp = json.get("timestamp").asInt();
+        org.arkecosystem.crypto.transactions.Transaction expected = transferBuilder
+                .recipient(RECIPIENT_ID)
+                .amount(AMOUNT)
+                .vendorField(VENDOR_FIELD)
+                .sign(PASSPHRASE)
+                .transaction;
+
+        assertEquals(expected.id, transaction.getId());
+        assertEquals(expected.id, json.get("id").asText());
+        assertEquals(expected.senderPublicKey, json.get("senderPublicKey").asText());
+        assertEquals(expected.signature, json.get("signature").asText());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsDestroyedIdentity() {
+        SigningIdentity signingIdentity = signer.createSigningIdentity(PASSPHRASE);
+        signingIdentity.destroy();
+        signer.sign(RECIPIENT_ID, AMOUNT, null, signingIdentity);
+    }
+
+}
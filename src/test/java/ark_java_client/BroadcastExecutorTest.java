@@ -0,0 +1,47 @@
+package ark_java_client;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ark_java_client.PeerSelectorTest.createPeer;
+import static org.junit.Assert.*;
+
+public class BroadcastExecutorTest {
+
+    @Test
+    public void cancelDropsQueuedTasksAndInterruptsRunningOnes() throws InterruptedException {
+        ArkNetworkBroadcastSettings settings = new ArkNetworkBroadcastSettings();
+        settings.setThreads(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        try (BroadcastExecutor broadcastExecutor = new BroadcastExecutor(settings)) {
+            List<CompletableFuture<Void>> peerResults = broadcastExecutor.fanOut(
+                Arrays.asList(createPeer("10.0.0.1"), createPeer("10.0.0.2")), peer -> {
+                    runs.incrementAndGet();
+                    started.countDown();
+                    try {
+                        Thread.sleep(10000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return null;
+                });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            peerResults.forEach(peerResult -> peerResult.cancel(true));
+
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            assertEquals(1, runs.get());
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package ark_java_client;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CachingArkClientTest {
+
+    private static final String ADDRESS = "AewU1vEmPrtQNjdVo33cX84bfovY3jNAkV";
+
+    private final InMemoryArkClient arkClient = new InMemoryArkClient();
+    private final CachingArkClient cachingArkClient;
+
+    public CachingArkClientTest() {
+        ArkNetworkTransactionCacheSettings settings = new ArkNetworkTransactionCacheSettings();
+        settings.setMinConfirmations(10);
+        cachingArkClient = new CachingArkClient(arkClient, settings);
+    }
+
+    @Test
+    public void handsOutCopiesOfCachedTransaction() {
+        arkClient.addTransaction("a", ADDRESS, 1000, 10);
+        arkClient.setHeight(100);
+        cachingArkClient.getTransaction("a").setAmount(1L);
+
+        Transaction first = cachingArkClient.getTransaction("a");
+        first.setAmount(2L);
+        Transaction second = cachingArkClient.getTransaction("a");
+
+        assertNotSame(first, second);
+        assertEquals(Long.valueOf(100000000L), second.getAmount());
+        assertEquals(2, cachingArkClient.getStats().getHitCount());
+    }
+
+    @Test
+    public void countsConfirmationsUpToLatestSeenHeight() {
+        arkClient.addTransaction("a", ADDRESS, 1000, 10);
+        arkClient.setHeight(100);
+        assertEquals(Integer.valueOf(91), cachingArkClient.getTransaction("a").getConfirmations());
+
+        // Reading newer history shows the chain has moved on
+        arkClient.addTransaction("b", ADDRESS, 2000, 150);
+        arkClient.setHeight(200);
+        cachingArkClient.getTransactionByRecipientAddress(ADDRESS, 1, 0);
+
+        assertEquals(Integer.valueOf(191), cachingArkClient.getTransaction("a").getConfirmations());
+        assertEquals(1, cachingArkClient.getStats().getHitCount());
+    }
+
+}
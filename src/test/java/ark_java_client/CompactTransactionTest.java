@@ -0,0 +1,39 @@
+package ark_java_client;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class CompactTransactionTest {
+
+    @Test
+    public void roundTripsTransaction() {
+        Transaction transaction = new Transaction();
+        transaction.setId("83d3fa00ff3ac45ec859403ecedda48b870d73d9eeaddc34a6a8b79556141f43");
+        transaction.setHeight(10);
+        transaction.setTimestamp(58926000);
+        transaction.setRecipientId("AewU1vEmPrtQNjdVo33cX84bfovY3jNAkV");
+        transaction.setAmount(123456789L);
+        transaction.setAsset(Collections.singletonMap("votes", Collections.singletonList("+02")));
+        transaction.setSignatures(Arrays.asList("3044"));
+
+        assertEquals(transaction, CompactTransaction.of(transaction).toTransaction());
+    }
+
+    @Test
+    public void equalsByIdOnlyWhenThereIsOne() {
+        Transaction transaction = new Transaction();
+        transaction.setId("0a");
+        assertEquals(CompactTransaction.of(transaction), CompactTransaction.of(transaction));
+
+        Transaction withoutId = new Transaction();
+        withoutId.setAmount(1L);
+        CompactTransaction compact = CompactTransaction.of(withoutId);
+        assertEquals(compact, compact);
+        assertNotEquals(compact, CompactTransaction.of(withoutId));
+    }
+
+}
@@ -0,0 +1,75 @@
+package ark_java_client;
+
+import ark_java_client.loadtest.FakeArkCluster;
+import ark_java_client.loadtest.FakeArkNodeSettings;
+import ark_java_client.loadtest.FakeLedger;
+import org.bitcoinj.core.Base58;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class HttpArkClientClusterTest {
+
+    private static final String PASSPHRASE = "liar secret already much glow student crystal paddle ahead vapor shine ocean";
+
+    private final FakeLedger ledger = new FakeLedger(10, 5, 42);
+    private FakeArkCluster cluster;
+    private ArkClient arkClient;
+
+    @Before
+    public void setUp() throws IOException {
+        cluster = new FakeArkCluster(2, ledger, new FakeArkNodeSettings(), 0);
+        arkClient = new HttpArkClientFactory().create(cluster.createArkNetwork("2"));
+    }
+
+    @After
+    public void tearDown() {
+        arkClient.close();
+        cluster.close();
+    }
+
+    @Test
+    public void readsFromCluster() {
+        String address = ledger.getAddresses().get(0);
+        List<Transaction> expected = ledger.getTransactions(address, 50, 0);
+
+        assertEquals(ids(expected), ids(arkClient.getTransactionByRecipientAddress(address, 50, 0)));
+        assertEquals(expected.get(0).getAmount(), arkClient.getTransaction(expected.get(0).getId()).getAmount());
+        assertEquals(Long.toString(ledger.getBalance(address)), arkClient.getBalance(address).getBalance());
+        assertEquals(Long.valueOf(ledger.getHeight()), arkClient.getHeight());
+    }
+
+    @Test
+    public void broadcastsToCluster() {
+        String recipientId = ledger.getAddresses().get(1);
+        SigningIdentity signingIdentity = arkClient.createSigningIdentity(PASSPHRASE);
+
+        String transactionId = arkClient.broadcastTransaction(recipientId, 12345L, "cluster test", signingIdentity, 2);
+        ledger.advance();
+
+        Transaction transaction = arkClient.getTransaction(transactionId);
+        assertNotNull(transaction);
+        assertEquals(recipientId, transaction.getRecipientId());
+        assertEquals(Long.valueOf(12345), transaction.getAmount());
+        assertEquals(Integer.valueOf(1), transaction.getConfirmations());
+    }
+
+    @Test
+    public void generatesValidAddresses() {
+        for (String address : ledger.getAddresses()) {
+            assertEquals(0x17, Base58.decodeChecked(address)[0]);
+        }
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).collect(Collectors.toList());
+    }
+
+}
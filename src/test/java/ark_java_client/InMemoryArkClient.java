@@ -0,0 +1,108 @@
+package ark_java_client;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of an {@link ArkClient} over an in-memory chain. Transactions are listed newest
+ * timestamp first like a node does, with confirmations counted from the current chain height.
+ */
+class InMemoryArkClient implements ArkClient {
+
+    private final List<Transaction> transactions = new ArrayList<>();
+    private final AtomicInteger pageRequests = new AtomicInteger();
+    private long height;
+
+    synchronized Transaction addTransaction(String id, String recipientId, int timestamp, int height) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setRecipientId(recipientId);
+        transaction.setTimestamp(timestamp);
+        transaction.setHeight(height);
+        transaction.setAmount(100000000L);
+        transactions.add(transaction);
+        this.height = Math.max(this.height, height);
+        return transaction;
+    }
+
+    /**
+     * Drops the transaction from the chain, as a rollback or fork does.
+     */
+    synchronized void removeTransaction(String id) {
+        transactions.removeIf(transaction -> transaction.getId().equals(id));
+    }
+
+    synchronized void setHeight(long height) {
+        this.height = height;
+    }
+
+    int getPageRequests() {
+        return pageRequests.get();
+    }
+
+    @Override
+    public synchronized List<Transaction> getTransactions(Integer limit, Integer offset) {
+        return page(transactions, limit, offset);
+    }
+
+    @Override
+    public synchronized List<Transaction> getTransactionByRecipientAddress(String recipientAddress, Integer limit, Integer offset) {
+        return page(transactions.stream()
+            .filter(transaction -> transaction.getRecipientId().equals(recipientAddress))
+            .collect(Collectors.toList()), limit, offset);
+    }
+
+    @Override
+    public synchronized Transaction getTransaction(String arkTransactionId) {
+        return transactions.stream()
+            .filter(transaction -> transaction.getId().equals(arkTransactionId))
+            .findFirst()
+            .map(this::copy)
+            .orElse(null);
+    }
+
+    @Override
+    public synchronized Long getHeight() {
+        return height;
+    }
+
+    @Override
+    public String broadcastTransaction(String recipientId, Long satoshiAmount, String vendorField, String passphrase, Integer nodes) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public AccountBalance getBalance(String address) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getAddress(String passphrase) {
+        throw new UnsupportedOperationException();
+    }
+
+    private List<Transaction> page(List<Transaction> matching, Integer limit, Integer offset) {
+        pageRequests.incrementAndGet();
+        return matching.stream()
+            .sorted(Comparator.comparing(Transaction::getTimestamp).reversed())
+            .skip(offset != null ? offset : 0)
+            .limit(limit != null ? limit : Long.MAX_VALUE)
+            .map(this::copy)
+            .collect(Collectors.toList());
+    }
+
+    private Transaction copy(Transaction transaction) {
+        Transaction copy = new Transaction();
+        copy.setId(transaction.getId());
+        copy.setRecipientId(transaction.getRecipientId());
+        copy.setTimestamp(transaction.getTimestamp());
+        copy.setHeight(transaction.getHeight());
+        copy.setAmount(transaction.getAmount());
+        copy.setConfirmations((int) (height - transaction.getHeight() + 1));
+        return copy;
+    }
+
+}
@@ -0,0 +1,202 @@
+package ark_java_client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static ark_java_client.PeerSelectorTest.sleep;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IndexedArkClientTest {
+
+    private static final String ADDRESS = "AewU1vEmPrtQNjdVo33cX84bfovY3jNAkV";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final InMemoryArkClient arkClient = new InMemoryArkClient();
+    private ArkNetworkTransactionIndexSettings settings;
+    private TransactionStore transactionStore;
+    private IndexedArkClient indexedArkClient;
+
+    @Before
+    public void setUp() throws IOException {
+        settings = new ArkNetworkTransactionIndexSettings();
+        settings.setDirectory(temporaryFolder.newFolder().getPath());
+        settings.setSegmentSize(64 * 1024);
+        settings.setMinConfirmations(3);
+        settings.setSyncOverlap(5);
+        settings.setSyncInterval(0);
+        transactionStore = new TransactionStore(settings);
+        indexedArkClient = new IndexedArkClient(arkClient, transactionStore, settings);
+    }
+
+    @After
+    public void tearDown() {
+        transactionStore.close();
+    }
+
+    @Test
+    public void mergesHeadOfLastSync() {
+        arkClient.addTransaction("a", ADDRESS, 1000, 10);
+        arkClient.setHeight(100);
+        assertEquals(1, indexedArkClient.sync(ADDRESS));
+
+        arkClient.addTransaction("b", ADDRESS, 2000, 101);
+        arkClient.setHeight(101);
+        assertEquals(Arrays.asList("a"), ids(indexedArkClient.getTransactionByRecipientAddress(ADDRESS, 10, 0)));
+
+        assertEquals(0, indexedArkClient.sync(ADDRESS));
+        assertEquals(Arrays.asList("b", "a"), ids(indexedArkClient.getTransactionByRecipientAddress(ADDRESS, 10, 0)));
+        assertEquals(Arrays.asList("b"), ids(indexedArkClient.getTransactionByRecipientAddress(ADDRESS, 1, 0)));
+        assertEquals(Arrays.asList("a"), ids(indexedArkClient.getTransactionByRecipientAddress(ADDRESS, 1, 1)));
+    }
+
+    @Test
+    public void pagesThroughHeadInterleavedWithIndex() {
+        arkClient.addTransaction("a", ADDRESS, 1000, 10);
+        arkClient.addTransaction("c", ADDRESS, 3000, 96);
+        arkClient.setHeight(100);
+        indexedArkClient.sync(ADDRESS);
+
+        // Signed between the indexed ones but confirmed after the sync, then the one signed last
+        arkClient.addTransaction("b", ADDRESS, 2000, 99);
+        arkClient.addTransaction("d", ADDRESS, 4000, 100);
+        indexedArkClient.sync(ADDRESS);
+
+        assertEquals(Arrays.asList("d", "c", "b", "a"),
+            ids(indexedArkClient.getTransactionByRecipientAddress(ADDRESS, null, null)));
+        for (int offset = 0; offset < 4; offset++) {
+            assertEquals(Arrays.asList("d", "c", "b", "a").subList(offset, Math.min(offset + 2, 4)),
+                ids(indexedArkClient.getTransactionByRecipientAddress(ADDRESS, 2, offset)));
+        }
+
+        // Once final the head transactions are indexed and not listed twice
+        arkClient.setHeight(200);
+        assertEquals(2, indexedArkClient.sync(ADDRESS));
+        assertEquals(Arrays.asList("d", "c", "b", "a"),
+            ids(indexedArkClient.getTransactionByRecipientAddress(ADDRESS, null, null)));
+    }
+
+    @Test
+    public void acceptsMissingLimitAndOffset() {
+        arkClient.addTransaction("a", ADDRESS, 1000, 10);
+        arkClient.addTransaction("b", ADDRESS, 1001, 11);
+        arkClient.setHeight(100);
+        indexedArkClient.sync(ADDRESS);
+
+        assertEquals(Arrays.asList("b", "a"), ids(indexedArkClient.getTransactionByRecipientAddress(ADDRESS, null, null)));
+    }
+
+    @Test
+    public void syncIndexesTransactionConfirmedAfterNewerOne() {
+        arkClient.addTransaction("newer", ADDRESS, 2000, 16);
+        arkClient.setHeight(20);
+        assertEquals(1, indexedArkClient.sync(ADDRESS));
+
+        // Signed before "newer" but confirmed above the synced height, so it is listed below it
+        arkClient.addTransaction("late", ADDRESS, 1900, 19);
+        arkClient.setHeight(40);
+
+        assertEquals(1, indexedArkClient.sync(ADDRESS));
+        assertEquals(Arrays.asList("late"), ids(indexedArkClient.getTransactionsByHeight(19, 19)));
+    }
+
+    @Test
+    public void readsOnlyNetworkHeadForSyncedAddress() {
+        for (int i = 1; i <= 200; i++) {
+            arkClient.addTransaction("tx-" + i, ADDRESS, 1000 + i, i);
+        }
+        arkClient.setHeight(300);
+        indexedArkClient.sync(ADDRESS);
+
+        int pageRequests = arkClient.getPageRequests();
+        assertEquals(200, indexedArkClient.getTransactionByRecipientAddress(ADDRESS, null, null).size());
+        assertEquals(Arrays.asList("tx-150"), ids(indexedArkClient.getTransactionByRecipientAddress(ADDRESS, 1, 50)));
+        assertEquals(pageRequests, arkClient.getPageRequests());
+    }
+
+    @Test
+    public void closedStoreRejectsReadsAndWrites() {
+        arkClient.addTransaction("a", ADDRESS, 1000, 10);
+        arkClient.setHeight(100);
+        indexedArkClient.sync(ADDRESS);
+        transactionStore.close();
+
+        try {
+            transactionStore.getByRecipient(ADDRESS);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            indexedArkClient.sync(ADDRESS);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void storeDirectoryCanOnlyBeOpenedOnce() {
+        try {
+            new TransactionStore(settings);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        transactionStore.close();
+        new TransactionStore(settings).close();
+        assertTrue(new File(settings.getDirectory(), "index.lock").exists());
+    }
+
+    @Test
+    public void passesBalanceMaxAgeToCachingClient() throws IOException {
+        AtomicInteger balanceReads = new AtomicInteger();
+        InMemoryArkClient balanceArkClient = new InMemoryArkClient() {
+            @Override
+            public AccountBalance getBalance(String address) {
+                balanceReads.incrementAndGet();
+                return new AccountBalance();
+            }
+        };
+        ArkNetworkBalanceCacheSettings balanceCacheSettings = new ArkNetworkBalanceCacheSettings();
+        BalanceCache balanceCache = new BalanceCache(new HeightPoller(balanceArkClient, 60000), balanceCacheSettings);
+        ArkNetworkTransactionIndexSettings settings = new ArkNetworkTransactionIndexSettings();
+        settings.setDirectory(temporaryFolder.newFolder().getPath());
+        settings.setSegmentSize(64 * 1024);
+        settings.setSyncInterval(0);
+
+        try (ArkClient arkClient = new IndexedArkClient(new CachingArkClient(balanceArkClient, null, balanceCache),
+                new TransactionStore(settings), settings)) {
+            // A balance read before the first height poll would be dropped once the poll lands
+            while (balanceCache.getHeight() < 0) {
+                sleep(1);
+            }
+            arkClient.getBalance(ADDRESS);
+            arkClient.getBalance(ADDRESS);
+            assertEquals(1, balanceReads.get());
+
+            sleep(5);
+            arkClient.getBalance(ADDRESS, 0);
+            assertEquals(2, balanceReads.get());
+        }
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,28 @@
+package ark_java_client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MicrometerArkClientMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MicrometerArkClientMetrics metrics = new MicrometerArkClientMetrics(meterRegistry);
+
+    @Test
+    public void reusesMetersPerTagSet() {
+        for (int i = 0; i < 3; i++) {
+            metrics.recordRequest("10.0.0.1:4003", "/api/blocks", 1000, ArkClientMetrics.Outcome.SUCCESS);
+            metrics.recordRequest("10.0.0.1:4003", "/api/blocks", 1000, ArkClientMetrics.Outcome.TIMEOUT);
+        }
+        metrics.recordBroadcast("10.0.0.1:4003", 2, 1);
+        metrics.recordBroadcast("10.0.0.1:4003", 0, 1);
+
+        assertEquals(3, meterRegistry.get("ark.client.requests").tag("outcome", "success").timer().count());
+        assertEquals(3, meterRegistry.get("ark.client.request.failures").counter().count(), 0);
+        assertEquals(2, meterRegistry.get("ark.client.broadcasts").tag("result", "rejected").counter().count(), 0);
+        assertEquals(2, meterRegistry.get("ark.client.requests").timers().size());
+    }
+
+}
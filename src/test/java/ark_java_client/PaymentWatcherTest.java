@@ -0,0 +1,131 @@
+package ark_java_client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class PaymentWatcherTest {
+
+    private static final String ADDRESS = "AewU1vEmPrtQNjdVo33cX84bfovY3jNAkV";
+
+    private final InMemoryArkClient arkClient = new InMemoryArkClient();
+    private final List<PaymentEvent> events = new CopyOnWriteArrayList<>();
+    private PaymentWatcher paymentWatcher;
+
+    @Before
+    public void setUp() {
+        ArkNetworkPaymentWatcherSettings settings = new ArkNetworkPaymentWatcherSettings();
+        settings.setMinPollInterval(5);
+        settings.setMaxPollInterval(5);
+        settings.setThreads(1);
+        settings.setPageSize(2);
+        settings.setMinConfirmations(3);
+        settings.setConfirmationMargin(2);
+        settings.setMaxTransactionAge(1000);
+        paymentWatcher = new PaymentWatcher(arkClient, settings);
+        paymentWatcher.addListener(events::add);
+    }
+
+    @After
+    public void tearDown() {
+        paymentWatcher.close();
+    }
+
+    @Test
+    public void reportsEachTransactionOnce() throws InterruptedException {
+        arkClient.addTransaction("old", ADDRESS, 1000, 10);
+        watchAndWaitForBaseline();
+
+        arkClient.addTransaction("a", ADDRESS, 2000, 11);
+        arkClient.addTransaction("b", ADDRESS, 2001, 11);
+        awaitPolls();
+        arkClient.addTransaction("c", ADDRESS, 2002, 12);
+        awaitPolls();
+
+        assertEquals(Arrays.asList("b", "a", "c"), received());
+    }
+
+    @Test
+    public void reportsTransactionConfirmedAfterNewerOne() throws InterruptedException {
+        arkClient.addTransaction("old", ADDRESS, 1000, 10);
+        watchAndWaitForBaseline();
+
+        arkClient.addTransaction("newer", ADDRESS, 2000, 11);
+        awaitPolls();
+        // Signed before "newer" but only confirmed now, so it is listed below transactions already seen
+        arkClient.addTransaction("late", ADDRESS, 1900, 12);
+        arkClient.addTransaction("filler-1", ADDRESS, 1950, 12);
+        arkClient.addTransaction("filler-2", ADDRESS, 1960, 12);
+        awaitPolls();
+
+        assertEquals(Arrays.asList("newer", "filler-2", "filler-1", "late"), received());
+    }
+
+    @Test
+    public void reportsConfirmationOnceReached() throws InterruptedException {
+        watchAndWaitForBaseline();
+
+        arkClient.addTransaction("a", ADDRESS, 2000, 11);
+        awaitPolls();
+        assertEquals(Arrays.asList(), confirmed());
+
+        arkClient.setHeight(13);
+        awaitPolls();
+        arkClient.setHeight(20);
+        awaitPolls();
+
+        assertEquals(Arrays.asList("a"), received());
+        assertEquals(Arrays.asList("a"), confirmed());
+    }
+
+    @Test
+    public void doesNotReportTransactionsFromBeforeWatching() throws InterruptedException {
+        arkClient.addTransaction("confirmed", ADDRESS, 1000, 10);
+        arkClient.addTransaction("unconfirmed", ADDRESS, 1001, 20);
+        watchAndWaitForBaseline();
+
+        arkClient.setHeight(30);
+        awaitPolls();
+
+        assertEquals(Arrays.asList(), received());
+        assertEquals(Arrays.asList("unconfirmed"), confirmed());
+    }
+
+    private void watchAndWaitForBaseline() throws InterruptedException {
+        paymentWatcher.watch(ADDRESS);
+        awaitPolls();
+    }
+
+    private void awaitPolls() throws InterruptedException {
+        // A few polls at the 5ms interval
+        int pageRequests = arkClient.getPageRequests();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (arkClient.getPageRequests() < pageRequests + 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(20);
+    }
+
+    private List<String> received() {
+        return ids(PaymentEvent.Type.RECEIVED);
+    }
+
+    private List<String> confirmed() {
+        return ids(PaymentEvent.Type.CONFIRMED);
+    }
+
+    private List<String> ids(PaymentEvent.Type type) {
+        return events.stream()
+            .filter(event -> event.getType() == type)
+            .map(event -> event.getTransaction().getId())
+            .collect(Collectors.toList());
+    }
+
+}
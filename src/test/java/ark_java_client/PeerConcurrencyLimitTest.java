@@ -0,0 +1,33 @@
+package ark_java_client;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static ark_java_client.PeerSelectorTest.createPeer;
+import static org.junit.Assert.*;
+
+public class PeerConcurrencyLimitTest {
+
+    @Test
+    public void cancelledWaiterLeavesLine() {
+        ArkNetworkConcurrencyLimitSettings settings = new ArkNetworkConcurrencyLimitSettings();
+        settings.setInitialLimit(1);
+        settings.setMaxQueueSize(1);
+        PeerConcurrencyLimit concurrencyLimit = new PeerConcurrencyLimit(createPeer("10.0.0.1"), settings);
+
+        assertTrue(concurrencyLimit.acquireAsync().isDone());
+        CompletableFuture<Void> waiter = concurrencyLimit.acquireAsync();
+        assertEquals(1, concurrencyLimit.getQueueSize());
+
+        waiter.cancel(false);
+        assertEquals(0, concurrencyLimit.getQueueSize());
+
+        CompletableFuture<Void> next = concurrencyLimit.acquireAsync();
+        assertFalse(next.isCompletedExceptionally());
+        concurrencyLimit.releaseUnused();
+        assertTrue(next.isDone());
+        assertEquals(1, concurrencyLimit.getInFlight());
+    }
+
+}
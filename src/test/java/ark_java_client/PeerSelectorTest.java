@@ -0,0 +1,190 @@
+package ark_java_client;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PeerSelectorTest {
+
+    private final Peer first = createPeer("10.0.0.1");
+    private final Peer second = createPeer("10.0.0.2");
+    private final PeerSelector peerSelector = new PeerSelector(Arrays.asList(first, second),
+        new ArkNetworkPeerSelectionSettings(), new ArkNetworkConcurrencyLimitSettings());
+
+    @Test
+    public void leavesCallerCodeOutOfPeerLatency() {
+        peerSelector.callStreaming((peer, callerCode) -> {
+            callerCode.run(() -> sleep(200));
+            return null;
+        });
+
+        for (PeerHealth peerHealth : peerSelector.getPeerHealths()) {
+            assertTrue(peerHealth.getLatencyMillis() < 100);
+        }
+    }
+
+    @Test
+    public void passesCallerCodeExceptionsThroughWithoutBlamingPeer() {
+        AtomicInteger attempts = new AtomicInteger();
+        IllegalArgumentException thrown = new IllegalArgumentException("bad transaction");
+        for (int i = 0; i < 5; i++) {
+            try {
+                peerSelector.callStreaming((peer, callerCode) -> {
+                    attempts.incrementAndGet();
+                    callerCode.run(() -> {
+                        throw thrown;
+                    });
+                    return null;
+                });
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertSame(thrown, e);
+            }
+        }
+
+        assertEquals(5, attempts.get());
+        for (PeerHealth peerHealth : peerSelector.getPeerHealths()) {
+            assertEquals(PeerHealth.CircuitState.CLOSED, peerHealth.getCircuitState());
+            assertEquals(0, peerHealth.getConsecutiveFailures());
+        }
+    }
+
+    @Test
+    public void countsRequestFailuresAgainstPeer() {
+        for (int i = 0; i < 3; i++) {
+            try {
+                peerSelector.callStreaming((peer, callerCode) -> {
+                    throw new ResourceAccessException("connection reset");
+                });
+                fail();
+            } catch (ResourceAccessException e) {
+                // expected
+            }
+        }
+
+        assertEquals(3, peerSelector.getPeerHealths().stream().mapToInt(PeerHealth::getConsecutiveFailures).sum());
+    }
+
+    @Test
+    public void retriesLoadShedReadOnlyBeforeCallerSawResponse() {
+        List<Peer> tried = new ArrayList<>();
+        peerSelector.callStreaming((peer, callerCode) -> {
+            tried.add(peer);
+            if (tried.size() == 1) {
+                throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+            }
+            return null;
+        });
+        assertEquals(2, tried.size());
+        assertNotEquals(tried.get(0), tried.get(1));
+
+        tried.clear();
+        try {
+            peerSelector.callStreaming((peer, callerCode) -> {
+                tried.add(peer);
+                callerCode.run(() -> { });
+                throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+            });
+            fail();
+        } catch (HttpClientErrorException e) {
+            assertEquals(1, tried.size());
+        }
+    }
+
+    @Test
+    public void releasedPeerCanBeProbedAgain() {
+        for (int i = 0; i < 3; i++) {
+            peerSelector.recordFailure(second, 0);
+        }
+        PeerHealth peerHealth = peerSelector.getPeerHealth(second);
+        assertTrue(peerHealth.tryAcquire(0));
+        assertFalse(peerHealth.tryAcquire(0));
+
+        peerSelector.release(second);
+
+        assertFalse(peerHealth.isProbeInFlight());
+        assertTrue(peerHealth.tryAcquire(0));
+        assertEquals(PeerHealth.CircuitState.HALF_OPEN, peerHealth.getCircuitState());
+    }
+
+    @Test
+    public void cancelledRequestGivesBackProbe() {
+        for (int i = 0; i < 3; i++) {
+            peerSelector.recordFailure(second, 0);
+        }
+        PeerHealth peerHealth = peerSelector.getPeerHealth(second);
+        assertTrue(peerHealth.tryAcquire(0));
+
+        peerSelector.callAsync(second, peer -> new CompletableFuture<Void>()).cancel(true);
+
+        assertFalse(peerHealth.isProbeInFlight());
+        assertEquals(PeerHealth.CircuitState.OPEN, peerHealth.getCircuitState());
+    }
+
+    @Test
+    public void errorInRequestGivesBackPermitAndProbe() {
+        ArkNetworkConcurrencyLimitSettings concurrencyLimitSettings = new ArkNetworkConcurrencyLimitSettings();
+        concurrencyLimitSettings.setEnabled(true);
+        PeerSelector limitedPeerSelector = new PeerSelector(Arrays.asList(first, second),
+            new ArkNetworkPeerSelectionSettings(), concurrencyLimitSettings);
+        for (int i = 0; i < 3; i++) {
+            limitedPeerSelector.recordFailure(second, 0);
+        }
+        PeerHealth peerHealth = limitedPeerSelector.getPeerHealth(second);
+        assertTrue(peerHealth.tryAcquire(0));
+
+        try {
+            limitedPeerSelector.call(second, peer -> {
+                throw new StackOverflowError();
+            });
+            fail();
+        } catch (StackOverflowError e) {
+            // expected
+        }
+
+        assertEquals(0, limitedPeerSelector.getConcurrencyLimit(second).getInFlight());
+        assertFalse(peerHealth.isProbeInFlight());
+    }
+
+    @Test
+    public void maxHeightFollowsLatestPeerHeights() {
+        peerSelector.recordHeight(first, 1000L);
+        peerSelector.recordHeight(second, 100L);
+        assertEquals(1000, peerSelector.getMaxHeight());
+
+        // The first peer's height was wrong and it has since reported the real one
+        peerSelector.recordHeight(first, 101L);
+        assertEquals(101, peerSelector.getMaxHeight());
+
+        peerSelector.recordHeight(first, 2000L);
+        peerSelector.setPeers(Arrays.asList(second));
+        assertEquals(100, peerSelector.getMaxHeight());
+    }
+
+    static Peer createPeer(String ip) {
+        Peer peer = new Peer();
+        peer.setIp(ip);
+        peer.setApiPort(4003);
+        peer.setP2pPort(4002);
+        return peer;
+    }
+
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package ark_java_client;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static ark_java_client.PeerSelectorTest.createPeer;
+import static ark_java_client.PeerSelectorTest.sleep;
+import static org.junit.Assert.*;
+
+public class ReadHedgerTest {
+
+    private final Peer first = createPeer("10.0.0.1");
+    private final Peer second = createPeer("10.0.0.2");
+    private final ArkNetworkPeerSelectionSettings peerSelectionSettings = new ArkNetworkPeerSelectionSettings();
+    private final ArkNetworkHedgingSettings hedgingSettings = new ArkNetworkHedgingSettings();
+    private final PeerSelector peerSelector;
+    private final ReadHedger readHedger;
+
+    public ReadHedgerTest() {
+        peerSelectionSettings.setOpenDuration(10);
+        hedgingSettings.setEnabled(true);
+        hedgingSettings.setDelay(0);
+        hedgingSettings.setBudget(1.0);
+        hedgingSettings.setThreads(1);
+        peerSelector = new PeerSelector(Arrays.asList(first, second), peerSelectionSettings,
+            new ArkNetworkConcurrencyLimitSettings());
+        readHedger = new ReadHedger(peerSelector, hedgingSettings);
+    }
+
+    @Test
+    public void readsOnCallingThreadWhenPoolIsFull() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        CompletableFuture<Void> blockingRead = CompletableFuture.runAsync(() -> readHedger.call(peer -> {
+            blocked.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        Thread caller = Thread.currentThread();
+        assertSame(caller, readHedger.call(peer -> Thread.currentThread()));
+
+        unblock.countDown();
+        blockingRead.get(5, TimeUnit.SECONDS);
+        assertEquals(0, readHedger.getHedgeCount());
+    }
+
+    @Test
+    public void givesBackProbeOfHedgeThatWasNotSent() {
+        for (int i = 0; i < peerSelectionSettings.getFailureThreshold(); i++) {
+            peerSelector.recordFailure(second, 0);
+        }
+        sleep(20);
+
+        // The only pool thread is busy with the first request, so a hedge can't be sent
+        readHedger.call(peer -> {
+            sleep(50);
+            return null;
+        });
+
+        assertFalse(peerSelector.getPeerHealth(second).isProbeInFlight());
+        assertTrue(peerSelector.getPeerHealth(second).isAvailable(peerSelectionSettings.getOpenDuration()));
+    }
+
+}
@@ -0,0 +1,112 @@
+package ark_java_client;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.Assert.assertEquals;
+
+public class TransactionHistoryIteratorTest {
+
+    private static final String ADDRESS = "AewU1vEmPrtQNjdVo33cX84bfovY3jNAkV";
+    private static final int PAGE_SIZE = 4;
+
+    private final InMemoryArkClient arkClient = new InMemoryArkClient();
+    private final AtomicInteger pageRequests = new AtomicInteger();
+
+    @Test
+    public void returnsEachTransactionOnceWhenNewOnesShiftThePages() {
+        List<String> expected = addTransactions(20);
+
+        // Every page after the first finds new transactions in front of the history
+        List<String> ids = readAll((limit, offset) -> {
+            int pageRequest = pageRequests.incrementAndGet();
+            if (pageRequest > 1) {
+                arkClient.addTransaction("new-" + pageRequest, ADDRESS, 2000 + pageRequest, 100 + pageRequest);
+            }
+            return arkClient.getTransactionByRecipientAddress(ADDRESS, limit, offset);
+        });
+
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    public void suppressesDuplicatesOfSharedTimestampAcrossPages() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            // Three transactions per timestamp, so every page boundary falls inside a group
+            String id = "tx-" + i;
+            arkClient.addTransaction(id, ADDRESS, 1000 - i / 3, 10);
+            expected.add(id);
+        }
+
+        assertEquals(expected, readAll((limit, offset) -> arkClient.getTransactionByRecipientAddress(ADDRESS, limit, offset)));
+    }
+
+    @Test
+    public void stepsBackWhenRollbackShiftsThePages() {
+        List<String> expected = addTransactions(20);
+
+        // The third page is read after the five newest transactions, all already returned, were rolled back
+        List<String> ids = readAll((limit, offset) -> {
+            if (pageRequests.incrementAndGet() == 3) {
+                for (int i = 19; i >= 15; i--) {
+                    arkClient.removeTransaction("tx-" + i);
+                }
+                arkClient.setHeight(20);
+            }
+            return arkClient.getTransactionByRecipientAddress(ADDRESS, limit, offset);
+        });
+
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    public void reReadsHistoryAfterFork() {
+        List<String> expected = addTransactions(20);
+
+        // A fork drops the newest transactions and confirms two of them again at other heights, along with
+        // one signed long ago that the old chain never confirmed
+        List<String> ids = readAll((limit, offset) -> {
+            if (pageRequests.incrementAndGet() == 3) {
+                for (int i = 19; i >= 15; i--) {
+                    arkClient.removeTransaction("tx-" + i);
+                }
+                arkClient.setHeight(20);
+                arkClient.addTransaction("tx-18", ADDRESS, 1018, 21);
+                arkClient.addTransaction("tx-16", ADDRESS, 1016, 22);
+                arkClient.addTransaction("late", ADDRESS, 500, 22);
+            }
+            return arkClient.getTransactionByRecipientAddress(ADDRESS, limit, offset);
+        });
+
+        List<String> withLate = new ArrayList<>(expected);
+        withLate.add("late");
+        assertEquals(withLate, ids);
+    }
+
+    /**
+     * Adds transactions tx-0 to tx-{count - 1}, each newer than the last, and returns their ids newest first.
+     */
+    private List<String> addTransactions(int count) {
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            arkClient.addTransaction("tx-" + i, ADDRESS, 1000 + i, i + 1);
+            ids[count - 1 - i] = "tx-" + i;
+        }
+        return Arrays.asList(ids);
+    }
+
+    private static List<String> readAll(BiFunction<Integer, Integer, List<Transaction>> pageLoader) {
+        List<String> ids = new ArrayList<>();
+        try (TransactionHistoryIterator iterator = new TransactionHistoryIterator(pageLoader, PAGE_SIZE)) {
+            iterator.forEachRemaining(transaction -> ids.add(transaction.getId()));
+        }
+        return ids;
+    }
+
+}
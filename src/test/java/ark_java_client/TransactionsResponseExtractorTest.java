@@ -0,0 +1,100 @@
+package ark_java_client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TransactionsResponseExtractorTest {
+
+    @Test
+    public void streamsTransactionsToConsumer() throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        int count = new TransactionsResponseExtractor(transactions::add).extractData(response(
+            "{\"success\":true,\"transactions\":[{\"id\":\"a\",\"height\":10,\"confirmations\":3},{\"id\":\"b\"}],\"count\":\"2\"}"));
+
+        assertEquals(2, count);
+        assertEquals("a", transactions.get(0).getId());
+        assertEquals("b", transactions.get(1).getId());
+    }
+
+    @Test
+    public void reportsHighestHeightSeen() throws IOException {
+        TransactionsResponseExtractor extractor = new TransactionsResponseExtractor(transaction -> { });
+        extractor.extractData(response(
+            "{\"transactions\":[{\"id\":\"a\",\"height\":10,\"confirmations\":3},{\"id\":\"b\",\"height\":11,\"confirmations\":1}]}"));
+
+        assertEquals(Long.valueOf(12), extractor.getMaxHeight());
+    }
+
+    @Test
+    public void readsCompactTransactionsWithAssetAsJson() throws IOException {
+        List<CompactTransaction> transactions = new ArrayList<>();
+        TransactionsResponseExtractor extractor = TransactionsResponseExtractor.compact(transactions::add);
+        int count = extractor.extractData(response(
+            "{\"transactions\":[{\"id\":\"0a\",\"height\":10,\"confirmations\":3,\"asset\":{\"votes\":[\"+02\"]},"
+                + "\"signatures\":[\"3044\"],\"amount\":5},{\"id\":\"0b\",\"asset\":null}]}"));
+
+        assertEquals(2, count);
+        assertEquals(Long.valueOf(12), extractor.getMaxHeight());
+        CompactTransaction first = transactions.get(0);
+        assertEquals("0a", first.getId());
+        assertEquals(5, first.getAmount());
+        assertEquals(Collections.singletonMap("votes", Collections.singletonList("+02")), first.getAsset());
+        assertEquals(Collections.singletonList("3044"), first.getSignatures());
+        assertNull(transactions.get(1).getAsset());
+        assertNull(transactions.get(1).getSignatures());
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void rejectsNullTransaction() throws IOException {
+        new TransactionsResponseExtractor(transaction -> { }).extractData(response(
+            "{\"transactions\":[{\"id\":\"a\"},null,{\"id\":\"b\"}]}"));
+    }
+
+    private static ClientHttpResponse response(String body) {
+        return new ClientHttpResponse() {
+            @Override
+            public HttpStatus getStatusCode() {
+                return HttpStatus.OK;
+            }
+
+            @Override
+            public int getRawStatusCode() {
+                return 200;
+            }
+
+            @Override
+            public String getStatusText() {
+                return "OK";
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return new HttpHeaders();
+            }
+        };
+    }
+
+}
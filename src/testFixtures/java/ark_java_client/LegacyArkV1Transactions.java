@@ -0,0 +1,74 @@
+package ark_java_client;
+
+import com.google.common.io.BaseEncoding;
+import io.ark.core.Crypto;
+import org.bitcoinj.core.Base58;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.Sha256Hash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The V1 signing path as it was before {@link ArkV1TransactionSerializer}: transaction bytes built in
+ * a scratch buffer, signed with {@link Crypto#signBytes} from the passphrase. Kept as the reference
+ * the serializer and signer are checked against, and the baseline of the signing benchmark.
+ */
+public class LegacyArkV1Transactions {
+
+    public static byte[] getBytes(CreateArkTransactionRequest createArkTransactionRequest, String senderPublicKey) {
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.put(createArkTransactionRequest.getType());
+        buffer.putInt((int) createArkTransactionRequest.getTimestamp());
+        buffer.put(BaseEncoding.base16().lowerCase().decode(senderPublicKey));
+
+        if (createArkTransactionRequest.getRecipientId() != null) {
+            buffer.put(Base58.decodeChecked(createArkTransactionRequest.getRecipientId()));
+        } else {
+            buffer.put(new byte[21]);
+        }
+
+        if (createArkTransactionRequest.getVendorField() != null) {
+            byte[] vbytes = createArkTransactionRequest.getVendorField().getBytes();
+            if (vbytes.length < 65) {
+                buffer.put(vbytes);
+                buffer.put(new byte[64 - vbytes.length]);
+            }
+        } else {
+            buffer.put(new byte[64]);
+        }
+
+        buffer.putLong(createArkTransactionRequest.getAmount());
+        buffer.putLong(createArkTransactionRequest.getFee());
+
+        byte[] outBuffer = new byte[buffer.position()];
+        buffer.rewind();
+        buffer.get(outBuffer);
+
+        return outBuffer;
+    }
+
+    public static CreateArkTransactionRequest sign(String recipientId, Long satoshiAmount, String vendorField,
+                                                   String passphrase, long timestamp) {
+        CreateArkTransactionRequest createArkTransactionRequest = new CreateArkTransactionRequest();
+        createArkTransactionRequest.setType((byte) 0);
+        createArkTransactionRequest.setRecipientId(recipientId);
+        createArkTransactionRequest.setFee(10000000L);
+        createArkTransactionRequest.setVendorField(vendorField);
+        createArkTransactionRequest.setTimestamp(timestamp);
+        createArkTransactionRequest.setAmount(satoshiAmount);
+
+        String senderPublicKey = BaseEncoding.base16().lowerCase().encode(Crypto.getKeys(passphrase).getPubKey());
+        createArkTransactionRequest.setSenderPublicKey(senderPublicKey);
+
+        byte[] transactionBytes = getBytes(createArkTransactionRequest, senderPublicKey);
+        ECKey.ECDSASignature signature = Crypto.signBytes(transactionBytes, passphrase);
+        createArkTransactionRequest.setSignature(BaseEncoding.base16().lowerCase().encode(signature.encodeToDER()));
+        createArkTransactionRequest.setId(BaseEncoding.base16().lowerCase().encode(Sha256Hash.hash(transactionBytes)));
+
+        return createArkTransactionRequest;
+    }
+
+}
@@ -0,0 +1,86 @@
+package ark_java_client.loadtest;
+
+import ark_java_client.ArkNetwork;
+import ark_java_client.ArkNetworkPeerSettings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A number of {@link FakeArkNode}s on local ports sharing one {@link FakeLedger}, optionally making a
+ * new block every {@code blockInterval} milliseconds. Each node gets its own copy of the settings so
+ * single nodes can be slowed down or made to fail.
+ */
+public class FakeArkCluster implements AutoCloseable {
+
+    private final FakeLedger ledger;
+    private final List<FakeArkNode> nodes = new ArrayList<>();
+    private final ScheduledExecutorService blockProducer;
+
+    public FakeArkCluster(int nodeCount, FakeLedger ledger, FakeArkNodeSettings settings, long blockInterval) throws IOException {
+        this.ledger = ledger;
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                nodes.add(new FakeArkNode(ledger, settings.copy()));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        if (blockInterval > 0) {
+            blockProducer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fake-ark-blocks");
+                thread.setDaemon(true);
+                return thread;
+            });
+            blockProducer.scheduleAtFixedRate(ledger::advance, blockInterval, blockInterval, TimeUnit.MILLISECONDS);
+        } else {
+            blockProducer = null;
+        }
+    }
+
+    public FakeLedger getLedger() {
+        return ledger;
+    }
+
+    public List<FakeArkNode> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * An Ark mainnet configuration with the cluster's nodes as trusted peers.
+     */
+    public ArkNetwork createArkNetwork(String networkVersion) {
+        List<ArkNetworkPeerSettings> trustedPeers = new ArrayList<>();
+        for (FakeArkNode node : nodes) {
+            ArkNetworkPeerSettings peerSettings = new ArkNetworkPeerSettings();
+            peerSettings.setHostname("127.0.0.1");
+            peerSettings.setPort(node.getPort());
+            peerSettings.setP2pPort(node.getPort());
+            trustedPeers.add(peerSettings);
+        }
+        return new ArkNetwork(
+            networkVersion,
+            "http",
+            trustedPeers,
+            "6e84d08bd299ed97c212c886c98a57e36545c8f5d645ca7eeae63a8bd62d8988",
+            0x17,
+            "2017-03-21 13:00:00",
+            "1.6.1"
+        );
+    }
+
+    @Override
+    public void close() {
+        if (blockProducer != null) {
+            blockProducer.shutdownNow();
+        }
+        nodes.forEach(FakeArkNode::close);
+    }
+
+}
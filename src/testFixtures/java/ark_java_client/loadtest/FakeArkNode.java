@@ -0,0 +1,258 @@
+package ark_java_client.loadtest;
+
+import ark_java_client.*;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for an Ark node that serves the endpoints the http clients use, for both
+ * network versions, from a {@link FakeLedger}. Latency, server errors, rejected broadcasts and a
+ * capacity past which requests are rate limited can be injected through its {@link FakeArkNodeSettings}.
+ */
+@Slf4j
+public class FakeArkNode implements AutoCloseable {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    static {
+        // Without this every response waits on a delayed ack from the client and takes 40ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final FakeLedger ledger;
+    private final FakeArkNodeSettings settings;
+    private final HttpServer httpServer;
+    private final ExecutorService executorService;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+
+    public FakeArkNode(FakeLedger ledger, FakeArkNodeSettings settings) throws IOException {
+        this(ledger, settings, 0);
+    }
+
+    public FakeArkNode(FakeLedger ledger, FakeArkNodeSettings settings, int port) throws IOException {
+        this.ledger = ledger;
+        this.settings = settings;
+        this.httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(settings.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "fake-ark-node-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executorService);
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public FakeArkNodeSettings getSettings() {
+        return settings;
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executorService.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int active = inFlight.incrementAndGet();
+        try {
+            byte[] requestBody = readFully(exchange.getRequestBody());
+            if (settings.getCapacity() > 0 && active > settings.getCapacity()) {
+                rateLimitedCount.incrementAndGet();
+                respond(exchange, 429, Collections.singletonMap("error", "Too many requests"));
+                return;
+            }
+            injectLatency();
+            if (settings.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.getErrorRate()) {
+                respond(exchange, 500, Collections.singletonMap("error", "injected error"));
+                return;
+            }
+
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (method.equals("GET") && path.equals("/api/transactions")) {
+                respond(exchange, 200, getTransactions(query));
+            } else if (method.equals("GET") && path.equals("/api/transactions/get")) {
+                getTransaction(exchange, query.get("id"));
+            } else if (method.equals("GET") && path.equals("/api/accounts/getBalance")) {
+                respond(exchange, 200, getBalance(query.get("address")));
+            } else if (method.equals("GET") && path.equals("/api/blocks/getHeight")) {
+                BlockHeight blockHeight = new BlockHeight();
+                blockHeight.setSuccess(true);
+                blockHeight.setHeight(ledger.getHeight());
+                respond(exchange, 200, blockHeight);
+            } else if (method.equals("POST") && path.equals("/api/transactions")) {
+                respond(exchange, 200, broadcastV2(objectMapper.readTree(requestBody)));
+            } else if (method.equals("POST") && path.equals("/peer/transactions")) {
+                respond(exchange, 200, broadcastV1(objectMapper.readTree(requestBody)));
+            } else {
+                respond(exchange, 404, Collections.singletonMap("error", "not found"));
+            }
+        } catch (Exception e) {
+            log.warn("Fake Ark node failed to handle " + exchange.getRequestURI() + ": " + e.getMessage(), e);
+            respond(exchange, 500, Collections.singletonMap("error", String.valueOf(e.getMessage())));
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private TransactionsResponse getTransactions(Map<String, String> query) {
+        int limit = Integer.parseInt(query.getOrDefault("limit", "50"));
+        int offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+        TransactionsResponse transactionsResponse = new TransactionsResponse();
+        transactionsResponse.setSuccess(true);
+        transactionsResponse.setTransactions(ledger.getTransactions(query.get("recipientId"), limit, offset));
+        return transactionsResponse;
+    }
+
+    private void getTransaction(HttpExchange exchange, String id) throws IOException {
+        Transaction transaction = ledger.getTransaction(id);
+        if (transaction == null) {
+            respond(exchange, 404, Collections.singletonMap("error", "Transaction not found"));
+            return;
+        }
+        TransactionWrapper transactionWrapper = new TransactionWrapper();
+        transactionWrapper.setTransaction(transaction);
+        respond(exchange, 200, transactionWrapper);
+    }
+
+    private AccountBalance getBalance(String address) {
+        String balance = Long.toString(ledger.getBalance(address));
+        AccountBalance accountBalance = new AccountBalance();
+        accountBalance.setBalance(balance);
+        accountBalance.setUnconfirmedBalance(balance);
+        return accountBalance;
+    }
+
+    private ArkV2CreateTransactionsResponse broadcastV2(JsonNode request) {
+        List<String> accepted = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+        Map<String, List<ArkV2TransactionError>> errors = new HashMap<>();
+        for (JsonNode transaction : request.path("transactions")) {
+            String id = transaction.path("id").asText();
+            if (accept(transaction)) {
+                accepted.add(id);
+            } else {
+                invalid.add(id);
+                ArkV2TransactionError error = new ArkV2TransactionError();
+                error.setType("ERR_APPLY");
+                error.setMessage("injected rejection");
+                errors.put(id, Collections.singletonList(error));
+            }
+        }
+        ArkV2CreateTransactionsData data = new ArkV2CreateTransactionsData();
+        data.setAccept(accepted);
+        data.setBroadcast(accepted);
+        data.setInvalid(invalid);
+        ArkV2CreateTransactionsResponse response = new ArkV2CreateTransactionsResponse();
+        response.setData(data);
+        response.setErrors(errors.isEmpty() ? null : errors);
+        return response;
+    }
+
+    private TransactionIdsWrapper broadcastV1(JsonNode request) {
+        List<String> accepted = new ArrayList<>();
+        for (JsonNode transaction : request.path("transactions")) {
+            if (accept(transaction)) {
+                accepted.add(transaction.path("id").asText());
+            }
+        }
+        TransactionIdsWrapper response = new TransactionIdsWrapper();
+        response.setTransactionIds(accepted);
+        return response;
+    }
+
+    private boolean accept(JsonNode transaction) {
+        if (settings.getRejectRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.getRejectRate()) {
+            return false;
+        }
+        // Other nodes of the cluster may already have it, which a real node would accept as well
+        ledger.accept(
+            transaction.path("id").asText(),
+            transaction.path("recipientId").asText(null),
+            transaction.path("amount").asLong(),
+            transaction.path("fee").asLong(),
+            transaction.path("vendorField").asText(null),
+            transaction.path("senderPublicKey").asText(null)
+        );
+        return true;
+    }
+
+    private void injectLatency() throws InterruptedException {
+        long latency = settings.getLatency();
+        if (settings.getLatencyJitter() > 0) {
+            latency += ThreadLocalRandom.current().nextLong(settings.getLatencyJitter() + 1);
+        }
+        if (latency > 0) {
+            Thread.sleep(latency);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] responseBody = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, responseBody.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(responseBody);
+        }
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[8192];
+        int length = 0;
+        int read;
+        while ((read = inputStream.read(buffer, length, buffer.length - length)) >= 0) {
+            length += read;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+                    URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+            }
+        }
+        return query;
+    }
+
+}
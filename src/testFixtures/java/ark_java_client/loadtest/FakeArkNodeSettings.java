@@ -0,0 +1,28 @@
+package ark_java_client.loadtest;
+
+import lombok.Data;
+
+/**
+ * Fault injection for a {@link FakeArkNode}. Can be changed while the node is running.
+ */
+@Data
+public class FakeArkNodeSettings {
+    private volatile long latency = 0;
+    private volatile long latencyJitter = 0;
+    private volatile double errorRate = 0;
+    private volatile double rejectRate = 0;
+    // Requests in flight beyond this are turned away with a 429, zero for no limit
+    private volatile int capacity = 0;
+    private int threads = 32;
+
+    public FakeArkNodeSettings copy() {
+        FakeArkNodeSettings copy = new FakeArkNodeSettings();
+        copy.setLatency(latency);
+        copy.setLatencyJitter(latencyJitter);
+        copy.setErrorRate(errorRate);
+        copy.setRejectRate(rejectRate);
+        copy.setCapacity(capacity);
+        copy.setThreads(threads);
+        return copy;
+    }
+}
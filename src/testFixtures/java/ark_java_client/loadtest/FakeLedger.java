@@ -0,0 +1,187 @@
+package ark_java_client.loadtest;
+
+import ark_java_client.Transaction;
+import org.bitcoinj.core.Base58;
+import org.bitcoinj.core.Sha256Hash;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Chain state shared by the nodes of a {@link FakeArkCluster}: a transaction history between valid
+ * mainnet addresses generated from a fixed seed, plus whatever gets broadcast to the nodes. Broadcast
+ * transactions are written right away at the height above the current one. {@link #advance()} only
+ * moves the height up, which gives them their first confirmation.
+ */
+public class FakeLedger {
+
+    private static final long INITIAL_HEIGHT = 5000000;
+    private static final int ADDRESS_VERSION = 0x17;
+
+    private final AtomicLong height = new AtomicLong(INITIAL_HEIGHT);
+    private final List<String> addresses = new ArrayList<>();
+    private final List<Transaction> transactions = new ArrayList<>();
+    private final Map<String, List<Transaction>> transactionsByRecipient = new HashMap<>();
+    private final Map<String, Transaction> transactionsById = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> balances = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FakeLedger(int addressCount, int transactionsPerAddress, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < addressCount; i++) {
+            addresses.add(randomAddress(random));
+        }
+        int transactionCount = addressCount * transactionsPerAddress;
+        for (int i = 0; i < transactionCount; i++) {
+            // Oldest first, a few transactions per block up to the initial height
+            long transactionHeight = INITIAL_HEIGHT - (transactionCount - i) / 4;
+            Transaction transaction = new Transaction();
+            transaction.setId(randomHex(random, 32));
+            transaction.setBlockId(Long.toString(transactionHeight));
+            transaction.setHeight((int) transactionHeight);
+            transaction.setType(0);
+            transaction.setTimestamp((int) (transactionHeight * 8));
+            transaction.setSenderId(addresses.get(random.nextInt(addressCount)));
+            transaction.setSenderPublicKey(randomHex(random, 33));
+            transaction.setRecipientId(addresses.get(random.nextInt(addressCount)));
+            transaction.setAmount((long) random.nextInt(1000000000));
+            transaction.setFee(10000000L);
+            transaction.setSignature(randomHex(random, 71));
+            add(transaction);
+        }
+    }
+
+    public long getHeight() {
+        return height.get();
+    }
+
+    public long advance() {
+        return height.incrementAndGet();
+    }
+
+    public List<String> getAddresses() {
+        return Collections.unmodifiableList(addresses);
+    }
+
+    public List<String> getTransactionIds(int count, Random random) {
+        lock.readLock().lock();
+        try {
+            List<String> transactionIds = new ArrayList<>(count);
+            for (int i = 0; i < count && !transactions.isEmpty(); i++) {
+                transactionIds.add(transactions.get(random.nextInt(transactions.size())).getId());
+            }
+            return transactionIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Newest first, with confirmations as of the current height.
+     */
+    public List<Transaction> getTransactions(String recipientId, int limit, int offset) {
+        lock.readLock().lock();
+        try {
+            List<Transaction> source = recipientId == null
+                ? transactions
+                : transactionsByRecipient.getOrDefault(recipientId, Collections.emptyList());
+            List<Transaction> page = new ArrayList<>(Math.max(0, Math.min(limit, source.size() - offset)));
+            for (int i = source.size() - 1 - offset; i >= 0 && page.size() < limit; i--) {
+                page.add(withConfirmations(source.get(i)));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Transaction getTransaction(String id) {
+        Transaction transaction = transactionsById.get(id);
+        return transaction != null ? withConfirmations(transaction) : null;
+    }
+
+    public long getBalance(String address) {
+        AtomicLong balance = balances.get(address);
+        return balance != null ? balance.get() : 0;
+    }
+
+    /**
+     * Returns false if a transaction with the same id is already known.
+     */
+    public boolean accept(String id, String recipientId, long amount, long fee, String vendorField, String senderPublicKey) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        long transactionHeight = height.get() + 1;
+        transaction.setBlockId(Long.toString(transactionHeight));
+        transaction.setHeight((int) transactionHeight);
+        transaction.setType(0);
+        transaction.setTimestamp((int) (transactionHeight * 8));
+        transaction.setSenderPublicKey(senderPublicKey);
+        transaction.setRecipientId(recipientId);
+        transaction.setAmount(amount);
+        transaction.setFee(fee);
+        transaction.setVendorField(vendorField);
+        return add(transaction);
+    }
+
+    private boolean add(Transaction transaction) {
+        lock.writeLock().lock();
+        try {
+            if (transactionsById.putIfAbsent(transaction.getId(), transaction) != null) {
+                return false;
+            }
+            transactions.add(transaction);
+            if (transaction.getRecipientId() != null) {
+                transactionsByRecipient.computeIfAbsent(transaction.getRecipientId(), key -> new ArrayList<>()).add(transaction);
+                balances.computeIfAbsent(transaction.getRecipientId(), key -> new AtomicLong()).addAndGet(transaction.getAmount());
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Transaction withConfirmations(Transaction stored) {
+        Transaction transaction = new Transaction();
+        transaction.setId(stored.getId());
+        transaction.setHeight(stored.getHeight());
+        transaction.setBlockId(stored.getBlockId());
+        transaction.setType(stored.getType());
+        transaction.setTimestamp(stored.getTimestamp());
+        transaction.setSenderPublicKey(stored.getSenderPublicKey());
+        transaction.setSenderId(stored.getSenderId());
+        transaction.setRecipientId(stored.getRecipientId());
+        transaction.setAmount(stored.getAmount());
+        transaction.setFee(stored.getFee());
+        transaction.setSignature(stored.getSignature());
+        transaction.setVendorField(stored.getVendorField());
+        transaction.setConfirmations((int) Math.max(0, height.get() - stored.getHeight() + 1));
+        return transaction;
+    }
+
+    /**
+     * Base58check of the mainnet version byte and a random 20 byte public key hash.
+     */
+    private static String randomAddress(Random random) {
+        byte[] address = new byte[25];
+        address[0] = (byte) ADDRESS_VERSION;
+        byte[] publicKeyHash = new byte[20];
+        random.nextBytes(publicKeyHash);
+        System.arraycopy(publicKeyHash, 0, address, 1, 20);
+        byte[] checksum = Sha256Hash.hashTwice(address, 0, 21);
+        System.arraycopy(checksum, 0, address, 21, 4);
+        return Base58.encode(address);
+    }
+
+    private static String randomHex(Random random, int length) {
+        StringBuilder hex = new StringBuilder(length * 2);
+        for (int i = 0; i < length; i++) {
+            hex.append(Character.forDigit(random.nextInt(16), 16)).append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return hex.toString();
+    }
+
+}